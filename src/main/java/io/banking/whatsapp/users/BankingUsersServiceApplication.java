@@ -2,6 +2,7 @@ package io.banking.whatsapp.users;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * Main application class for the Banking Users Service.
@@ -15,6 +16,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * - Input validation
  * - Exception handling
  * - Swagger/OpenAPI documentation
+ * - In-process caching of user lookups
  *
  * @author Marcelo Alejandro Albarracín
  * @email marceloalejandro.albarracin@gmail.com
@@ -22,6 +24,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @since 2024-03-19
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class BankingUsersServiceApplication {
 
     /**
@@ -0,0 +1,124 @@
+package io.banking.whatsapp.users.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over string keys.
+ * Bits are set with lock-free updates, so keys can be added while the filter is being read.
+ * The k bit positions of a key are derived from two 64-bit hashes (Kirsch-Mitzenmacher).
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong bitsSet = new AtomicLong();
+
+    /**
+     * Creates a filter sized for the given number of keys and false positive probability.
+     *
+     * @param expectedInsertions the number of keys the filter is sized for
+     * @param falsePositiveProbability the target false positive probability at that size
+     */
+    BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        long keys = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-keys * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(words);
+        this.bitCount = words * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / keys * Math.log(2)));
+    }
+
+    /**
+     * Adds a key to the filter.
+     *
+     * @param key the key to add
+     */
+    void put(String key) {
+        long hash = hash(key);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long previous = words.getAndAccumulate(word, mask, (current, m) -> current | m);
+            if ((previous & mask) == 0) {
+                bitsSet.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Returns whether the key may have been added.
+     *
+     * @param key the key to check
+     * @return false if the key was definitely never added, true if it may have been
+     */
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the probability that a key never added is reported as present,
+     * estimated from the fraction of bits currently set.
+     *
+     * @return the current false positive probability
+     */
+    double expectedFalsePositiveProbability() {
+        return Math.pow((double) bitsSet.get() / bitCount, hashCount);
+    }
+
+    /**
+     * Returns the number of distinct keys added, estimated from the fraction of bits set.
+     *
+     * @return the approximate number of keys in the filter
+     */
+    double approximateKeyCount() {
+        double fill = (double) bitsSet.get() / bitCount;
+        return fill >= 1 ? Double.POSITIVE_INFINITY : -bitCount / (double) hashCount * Math.log1p(-fill);
+    }
+
+    /**
+     * Returns the number of hash functions used per key.
+     *
+     * @return the number of bits set per key
+     */
+    int hashCount() {
+        return hashCount;
+    }
+
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,77 @@
+package io.banking.whatsapp.users.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.banking.whatsapp.users.config.UserReadProperties;
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.User;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived record of the keys of users written by this instance.
+ * Reads of a recently written user are pinned to the primary, so a client that reads
+ * right after its own create or update sees its write even when reads go to secondaries.
+ * Tracking is off when reads already go to the primary or the window is zero.
+ * The guarantee covers reads served by the instance that made the write.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Component
+public class RecentWrites {
+
+    private final Cache<String, Boolean> keys;
+
+    /**
+     * Creates the tracker using the configured read-your-writes window.
+     *
+     * @param properties the read routing configuration
+     */
+    public RecentWrites(UserReadProperties properties) {
+        boolean enabled = !"primary".equalsIgnoreCase(properties.getPreference())
+                && properties.getReadYourWritesWindow().isPositive();
+        this.keys = enabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(properties.getRecentWritesMaximumSize())
+                        .expireAfterWrite(properties.getReadYourWritesWindow())
+                        .build()
+                : null;
+    }
+
+    /**
+     * Records a write of the given user under every key it can be looked up by.
+     *
+     * @param user the user that was written
+     */
+    public void record(User user) {
+        if (keys == null) {
+            return;
+        }
+        if (user.getId() != null) {
+            keys.put(key(LookupType.ID, user.getId()), Boolean.TRUE);
+        }
+        if (user.getDni() != null) {
+            keys.put(key(LookupType.DNI, user.getDni()), Boolean.TRUE);
+        }
+        if (user.getPhoneNumber() != null) {
+            keys.put(key(LookupType.PHONE_NUMBER, user.getPhoneNumber()), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Returns whether a user was written under the given key within the window.
+     *
+     * @param type the kind of key
+     * @param key the key value
+     * @return true if reads of this key must go to the primary
+     */
+    public boolean contains(LookupType type, String key) {
+        return keys != null && key != null && keys.getIfPresent(key(type, key)) != null;
+    }
+
+    private static String key(LookupType type, String key) {
+        return type.name() + ':' + key;
+    }
+}
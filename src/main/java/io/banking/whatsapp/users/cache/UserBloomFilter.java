@@ -0,0 +1,253 @@
+package io.banking.whatsapp.users.cache;
+
+import io.banking.whatsapp.users.config.UserBloomFilterProperties;
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.User;
+import io.banking.whatsapp.users.repository.ReadRouting;
+import io.banking.whatsapp.users.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bloom filters over the DNI and phone number of every user, used to answer lookups
+ * of keys that definitely do not exist without querying the database.
+ * The filters are built from index-only scans of the unique indexes once the application
+ * has started, and rebuilt every {@code users.bloom-filter.rebuild-interval}. Created and
+ * updated users are added as they are written, including while a rebuild is running.
+ * Keys of deleted users, or of values replaced by an update, stay in the filter until the
+ * next rebuild, which only costs a database query. Until the first build completes every
+ * key is reported as possibly present.
+ *
+ * The number of definite misses, false positives and rebuilds, and the estimated false
+ * positive probability of each filter, are published to Micrometer.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Component
+public class UserBloomFilter implements MeterBinder, ApplicationRunner, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(UserBloomFilter.class);
+
+    private final UserRepository userRepository;
+    private final UserBloomFilterProperties properties;
+    private final Map<LookupType, Slot> slots = new EnumMap<>(LookupType.class);
+    private final AtomicLong rebuilds = new AtomicLong();
+    private final AtomicLong lastRebuildNanos = new AtomicLong();
+    private volatile Disposable schedule;
+
+    /**
+     * Creates the filters.
+     *
+     * @param userRepository the repository used to scan the keys
+     * @param properties the Bloom filter configuration
+     */
+    public UserBloomFilter(UserRepository userRepository, UserBloomFilterProperties properties) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        slots.put(LookupType.DNI, new Slot(User::getDni));
+        slots.put(LookupType.PHONE_NUMBER, new Slot(User::getPhoneNumber));
+    }
+
+    /**
+     * Returns whether a user with the given key may exist.
+     * Keys of a type without a filter, and every key while the filters are disabled
+     * or not yet built, may exist.
+     *
+     * @param type the kind of key
+     * @param key the key value
+     * @return false if no user has the key, true if one may have it
+     */
+    public boolean mightContain(LookupType type, String key) {
+        Slot slot = slots.get(type);
+        BloomFilter filter = slot != null ? slot.current : null;
+        if (!properties.isEnabled() || filter == null || key == null) {
+            return true;
+        }
+        if (filter.mightContain(key)) {
+            slot.present.incrementAndGet();
+            return true;
+        }
+        slot.absent.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Records that a key reported as possibly present was not found in the database.
+     *
+     * @param type the kind of key
+     */
+    public void recordMiss(LookupType type) {
+        Slot slot = slots.get(type);
+        if (properties.isEnabled() && slot != null && slot.current != null) {
+            slot.falsePositives.incrementAndGet();
+        }
+    }
+
+    /**
+     * Adds the keys of a created or updated user to the filters.
+     *
+     * @param user the user that was written
+     */
+    public void put(User user) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        slots.values().forEach(slot -> slot.put(user));
+    }
+
+    /**
+     * Rebuilds every filter from the keys stored in the database.
+     * Keys are read from the primary, so no committed write is missed.
+     *
+     * @return a Mono that completes once every filter has been replaced
+     */
+    public Mono<Void> rebuild() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Flux.fromIterable(slots.entrySet())
+                    .concatMap(entry -> rebuild(entry.getKey(), entry.getValue()))
+                    .then(Mono.fromRunnable(() -> {
+                        lastRebuildNanos.set(System.nanoTime() - start);
+                        rebuilds.incrementAndGet();
+                    }));
+        });
+    }
+
+    /**
+     * Starts the periodic rebuild, the first one right away.
+     * Startup does not wait for it; lookups go to the database until it completes.
+     *
+     * @param args the application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        schedule = Flux.interval(Duration.ZERO, properties.getRebuildInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> rebuild()
+                        .doOnSuccess(done -> log.info("User Bloom filters rebuilt in {} ms",
+                                TimeUnit.NANOSECONDS.toMillis(lastRebuildNanos.get())))
+                        .onErrorResume(ex -> {
+                            log.warn("User Bloom filter rebuild failed: {}", ex.getMessage());
+                            return Mono.empty();
+                        }), 0)
+                .subscribe();
+    }
+
+    /**
+     * Stops the periodic rebuild.
+     */
+    @Override
+    public void destroy() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+
+    /**
+     * Registers check, false positive and rebuild metrics and the estimated false positive
+     * probability of each filter.
+     *
+     * @param registry the meter registry to bind to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        slots.forEach((type, slot) -> {
+            String key = type.getField();
+            FunctionCounter.builder("users.bloom.checks", slot.absent, AtomicLong::get)
+                    .description("Lookups checked against the Bloom filter")
+                    .tag("key", key)
+                    .tag("result", "absent")
+                    .register(registry);
+            FunctionCounter.builder("users.bloom.checks", slot.present, AtomicLong::get)
+                    .description("Lookups checked against the Bloom filter")
+                    .tag("key", key)
+                    .tag("result", "present")
+                    .register(registry);
+            FunctionCounter.builder("users.bloom.false.positives", slot.falsePositives, AtomicLong::get)
+                    .description("Lookups the Bloom filter let through that found no user")
+                    .tag("key", key)
+                    .register(registry);
+            Gauge.builder("users.bloom.expected.fpp", slot,
+                            s -> s.current != null ? s.current.expectedFalsePositiveProbability() : Double.NaN)
+                    .description("False positive probability estimated from the filter's fill ratio")
+                    .tag("key", key)
+                    .register(registry);
+            Gauge.builder("users.bloom.keys", slot,
+                            s -> s.current != null ? s.current.approximateKeyCount() : Double.NaN)
+                    .description("Approximate number of keys in the filter")
+                    .tag("key", key)
+                    .register(registry);
+        });
+        FunctionCounter.builder("users.bloom.rebuilds", rebuilds, AtomicLong::get)
+                .description("Completed rebuilds of the Bloom filters")
+                .register(registry);
+        TimeGauge.builder("users.bloom.rebuild.duration", lastRebuildNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .description("Duration of the last rebuild of the Bloom filters")
+                .register(registry);
+    }
+
+    private Mono<Void> rebuild(LookupType type, Slot slot) {
+        BloomFilter next = new BloomFilter(properties.getExpectedInsertions(), properties.getFalsePositiveProbability());
+        slot.building = next;
+        return ReadRouting.onPrimary(userRepository.streamKeys(type, properties.getCursorBatchSize()))
+                .doOnNext(next::put)
+                .then(Mono.fromRunnable(() -> slot.current = next))
+                .doFinally(signal -> slot.building = null)
+                .then();
+    }
+
+    private static final class Slot {
+
+        private final Function<User, String> keyExtractor;
+        private final AtomicLong absent = new AtomicLong();
+        private final AtomicLong present = new AtomicLong();
+        private final AtomicLong falsePositives = new AtomicLong();
+        private volatile BloomFilter current;
+        private volatile BloomFilter building;
+
+        private Slot(Function<User, String> keyExtractor) {
+            this.keyExtractor = keyExtractor;
+        }
+
+        private void put(User user) {
+            String key = keyExtractor.apply(user);
+            if (key == null) {
+                return;
+            }
+            // Read the filter being built before the current one: a rebuild publishes its
+            // filter as current before clearing it as building, so the key cannot miss both.
+            BloomFilter next = building;
+            if (next != null) {
+                next.put(key);
+            }
+            BloomFilter filter = current;
+            if (filter != null && filter != next) {
+                filter.put(key);
+            }
+        }
+    }
+}
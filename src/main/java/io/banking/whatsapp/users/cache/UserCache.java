@@ -0,0 +1,325 @@
+package io.banking.whatsapp.users.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.banking.whatsapp.users.config.UserCacheProperties;
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Bounded, read-through in-process cache for User entities.
+ * Users are stored by ID, and secondary DNI and phone number indexes map each
+ * key to the ID of the cached user. Entries are evicted by size and by a write TTL.
+ * Keys whose lookup found no user are remembered for a short TTL and answered as
+ * not found without calling the loader; writing a user forgets every miss recorded
+ * for its keys. A loaded user is only cached if that user was not written or evicted since the
+ * load started, so a slow read, e.g. from a lagging secondary, cannot overwrite a newer write.
+ * Writes are tracked per key in a fixed set of striped timestamps, so a write only holds back
+ * loads of the same user, or of the rare key that shares its stripe.
+ * Hit, miss and eviction counts are published to Micrometer.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Component
+public class UserCache implements MeterBinder {
+
+    private static final int WRITE_STRIPES = 4096;
+
+    private final boolean enabled;
+    private final Cache<String, User> usersById;
+    private final Cache<String, String> idsByDni;
+    private final Cache<String, String> idsByPhoneNumber;
+    private final Map<LookupType, Cache<String, Boolean>> misses = new EnumMap<>(LookupType.class);
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLongArray lastWrites = new AtomicLongArray(WRITE_STRIPES);
+
+    /**
+     * Creates the cache using the configured size and TTL bounds.
+     *
+     * @param properties the cache configuration
+     */
+    public UserCache(UserCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.usersById = newCache(properties);
+        this.idsByDni = newCache(properties);
+        this.idsByPhoneNumber = newCache(properties);
+        if (properties.getNegativeTtl().isPositive()) {
+            for (LookupType type : LookupType.values()) {
+                misses.put(type, Caffeine.newBuilder()
+                        .maximumSize(properties.getNegativeMaximumSize())
+                        .expireAfterWrite(properties.getNegativeTtl())
+                        .recordStats()
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * Returns the user with the given ID, loading and caching it on a miss.
+     *
+     * @param id the ID of the user
+     * @param loader the function used to load the user on a cache miss
+     * @return a Mono containing the user, or an empty Mono if the loader finds nothing
+     */
+    public Mono<User> getById(String id, Function<String, Mono<User>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return Mono.defer(() -> Mono.justOrEmpty(usersById.getIfPresent(id)))
+                .switchIfEmpty(load(LookupType.ID, id, loader));
+    }
+
+    /**
+     * Returns the user with the given DNI, loading and caching it on a miss.
+     * A DNI entry only counts as a hit when the user it points to is still cached
+     * and still carries that DNI.
+     *
+     * @param dni the DNI of the user
+     * @param loader the function used to load the user on a cache miss
+     * @return a Mono containing the user, or an empty Mono if the loader finds nothing
+     */
+    public Mono<User> getByDni(String dni, Function<String, Mono<User>> loader) {
+        if (!enabled) {
+            return loader.apply(dni);
+        }
+        return Mono.defer(() -> Mono.justOrEmpty(lookup(idsByDni, dni, User::getDni)))
+                .switchIfEmpty(load(LookupType.DNI, dni, loader));
+    }
+
+    /**
+     * Returns the user with the given phone number, loading and caching it on a miss.
+     * A phone number entry only counts as a hit when the user it points to is still
+     * cached and still carries that phone number.
+     *
+     * @param phoneNumber the phone number of the user, in E.164 form
+     * @param loader the function used to load the user on a cache miss
+     * @return a Mono containing the user, or an empty Mono if the loader finds nothing
+     */
+    public Mono<User> getByPhoneNumber(String phoneNumber, Function<String, Mono<User>> loader) {
+        if (!enabled) {
+            return loader.apply(phoneNumber);
+        }
+        return Mono.defer(() -> Mono.justOrEmpty(lookup(idsByPhoneNumber, phoneNumber, User::getPhoneNumber)))
+                .switchIfEmpty(load(LookupType.PHONE_NUMBER, phoneNumber, loader));
+    }
+
+    /**
+     * Returns the cached user for the given key without loading it on a miss.
+     *
+     * @param type the kind of key to look up
+     * @param key the key value
+     * @return the cached user, or null if it is not cached
+     */
+    public User peek(LookupType type, String key) {
+        if (!enabled) {
+            return null;
+        }
+        return switch (type) {
+            case ID -> usersById.getIfPresent(key);
+            case DNI -> lookup(idsByDni, key, User::getDni);
+            case PHONE_NUMBER -> lookup(idsByPhoneNumber, key, User::getPhoneNumber);
+        };
+    }
+
+    /**
+     * Returns whether a recent lookup of the given key found no user.
+     *
+     * @param type the kind of key
+     * @param key the key value
+     * @return true if the key is known to be missing
+     */
+    public boolean isMissing(LookupType type, String key) {
+        Cache<String, Boolean> region = misses.get(type);
+        return enabled && region != null && key != null && region.getIfPresent(key) != null;
+    }
+
+    /**
+     * Looks up a key through the given loader, remembering the key as missing if nothing is found.
+     * Used for lookups that bypass the read-through methods, such as projected reads.
+     *
+     * @param type the kind of key
+     * @param key the key value
+     * @param loader the function used to query the user
+     * @return a Mono containing the user, or an empty Mono if the key is missing
+     */
+    public Mono<User> loadRecordingMiss(LookupType type, String key, Function<String, Mono<User>> loader) {
+        if (!enabled) {
+            return loader.apply(key);
+        }
+        return load(type, key, loader, false);
+    }
+
+    /**
+     * Forgets every miss recorded for the keys of a user that has just been written,
+     * so lookups see the user immediately.
+     *
+     * @param user the user that was written
+     */
+    public void evictMisses(User user) {
+        markWritten(LookupType.ID, user.getId());
+        markWritten(LookupType.DNI, user.getDni());
+        markWritten(LookupType.PHONE_NUMBER, user.getPhoneNumber());
+        forgetMisses(user);
+    }
+
+    /**
+     * Stores or refreshes a user under every key it can be looked up by,
+     * and forgets any miss recorded for those keys.
+     *
+     * @param user the user to cache
+     */
+    public void put(User user) {
+        if (!enabled || user.getId() == null) {
+            return;
+        }
+        evictMisses(user);
+        store(user);
+    }
+
+    private void store(User user) {
+        forgetMisses(user);
+        usersById.put(user.getId(), user);
+        if (user.getDni() != null) {
+            idsByDni.put(user.getDni(), user.getId());
+        }
+        if (user.getPhoneNumber() != null) {
+            idsByPhoneNumber.put(user.getPhoneNumber(), user.getId());
+        }
+    }
+
+    /**
+     * Removes the user with the given ID.
+     * Any DNI or phone number entry still pointing at this ID becomes a miss on its next lookup.
+     *
+     * @param id the ID of the user to evict
+     */
+    public void evictById(String id) {
+        if (id != null) {
+            markWritten(LookupType.ID, id);
+            usersById.invalidate(id);
+        }
+    }
+
+    /**
+     * Registers hit, miss, eviction and size metrics for every cache region.
+     *
+     * @param registry the meter registry to bind to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, usersById, "usersById");
+        CaffeineCacheMetrics.monitor(registry, idsByDni, "userIdsByDni");
+        CaffeineCacheMetrics.monitor(registry, idsByPhoneNumber, "userIdsByPhoneNumber");
+        misses.forEach((type, region) -> CaffeineCacheMetrics.monitor(registry, region, "userMisses", "key", type.getField()));
+    }
+
+    private static <V> Cache<String, V> newCache(UserCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+    }
+
+    private Mono<User> load(LookupType type, String key, Function<String, Mono<User>> loader) {
+        return load(type, key, loader, true);
+    }
+
+    private Mono<User> load(LookupType type, String key, Function<String, Mono<User>> loader, boolean cacheFound) {
+        return Mono.defer(() -> {
+            if (isMissing(type, key)) {
+                return Mono.empty();
+            }
+            long start = clock.get();
+            return loader.apply(key)
+                    .doOnNext(user -> {
+                        if (cacheFound) {
+                            putLoaded(user, start);
+                        }
+                    })
+                    .switchIfEmpty(Mono.fromRunnable(() -> recordMiss(type, key, start)));
+        });
+    }
+
+    private void putLoaded(User user, long start) {
+        if (user.getId() == null || writtenSince(LookupType.ID, user.getId(), start)) {
+            return;
+        }
+        store(user);
+        // Writes are marked before they touch the cache, so checking again after the put catches a write
+        // that landed in between. Only this entry is removed, never a newer one stored by that write.
+        if (writtenSince(LookupType.ID, user.getId(), start)) {
+            usersById.asMap().remove(user.getId(), user);
+        }
+    }
+
+    private void recordMiss(LookupType type, String key, long start) {
+        Cache<String, Boolean> region = misses.get(type);
+        if (region == null || key == null) {
+            return;
+        }
+        // A write since the lookup started may have created the key; checked again after the put as above.
+        if (!writtenSince(type, key, start)) {
+            region.put(key, Boolean.TRUE);
+            if (writtenSince(type, key, start)) {
+                region.invalidate(key);
+            }
+        }
+    }
+
+    private void markWritten(LookupType type, String key) {
+        if (key != null) {
+            lastWrites.accumulateAndGet(stripe(type, key), clock.incrementAndGet(), Math::max);
+        }
+    }
+
+    private boolean writtenSince(LookupType type, String key, long start) {
+        return lastWrites.get(stripe(type, key)) > start;
+    }
+
+    private static int stripe(LookupType type, String key) {
+        int hash = 31 * type.ordinal() + key.hashCode();
+        return (hash ^ (hash >>> 16)) & (WRITE_STRIPES - 1);
+    }
+
+    private void forgetMisses(User user) {
+        if (misses.isEmpty()) {
+            return;
+        }
+        forgetMiss(LookupType.ID, user.getId());
+        forgetMiss(LookupType.DNI, user.getDni());
+        forgetMiss(LookupType.PHONE_NUMBER, user.getPhoneNumber());
+    }
+
+    private void forgetMiss(LookupType type, String key) {
+        if (key != null) {
+            misses.get(type).invalidate(key);
+        }
+    }
+
+    private User lookup(Cache<String, String> index, String key, Function<User, String> keyExtractor) {
+        String id = index.getIfPresent(key);
+        if (id == null) {
+            return null;
+        }
+        User user = usersById.getIfPresent(id);
+        if (user == null || !key.equals(keyExtractor.apply(user))) {
+            index.invalidate(key);
+            return null;
+        }
+        return user;
+    }
+}
@@ -0,0 +1,189 @@
+package io.banking.whatsapp.users.cache;
+
+import io.banking.whatsapp.users.config.UserLookupProperties;
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.User;
+import io.banking.whatsapp.users.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * DataLoader-style micro-batcher for point lookups.
+ * Lookups are collected per key type for a short window, or until the batch reaches
+ * its size cap, and then resolved with a single {@code $in} query. Each waiting caller
+ * receives the user matching its key, or an empty result if there is none; callers
+ * asking for the same key in the same batch share one entry.
+ * Disabled by default; when disabled every lookup is sent on its own.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Component
+public class UserLookupBatcher implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(UserLookupBatcher.class);
+
+    private final boolean enabled;
+    private final Duration window;
+    private final int maxSize;
+    private final Scheduler scheduler;
+    private final Map<LookupType, Batch> batches = new EnumMap<>(LookupType.class);
+
+    /**
+     * Creates the batcher.
+     *
+     * @param userRepository the repository used to run the batched queries
+     * @param properties the lookup configuration
+     */
+    @Autowired
+    public UserLookupBatcher(UserRepository userRepository, UserLookupProperties properties) {
+        this(userRepository, properties, Schedulers.parallel());
+    }
+
+    UserLookupBatcher(UserRepository userRepository, UserLookupProperties properties, Scheduler scheduler) {
+        this.enabled = properties.getBatch().isEnabled();
+        this.window = properties.getBatch().getWindow();
+        this.maxSize = properties.getBatch().getMaxSize();
+        this.scheduler = scheduler;
+        batches.put(LookupType.ID, new Batch(userRepository::findAllById, User::getId));
+        batches.put(LookupType.DNI, new Batch(userRepository::findByDniIn, User::getDni));
+        batches.put(LookupType.PHONE_NUMBER, new Batch(userRepository::findByPhoneNumberIn, User::getPhoneNumber));
+    }
+
+    /**
+     * Looks up a user as part of the next batch for its key type.
+     *
+     * @param type the kind of key being looked up
+     * @param key the key value
+     * @param finder the single-key query used when batching is disabled
+     * @return a Mono containing the user, or an empty Mono if there is none
+     */
+    public Mono<User> load(LookupType type, String key, Function<String, Mono<User>> finder) {
+        if (!enabled) {
+            return finder.apply(key);
+        }
+        Batch batch = batches.get(type);
+        return Mono.defer(() -> batch.enqueue(key));
+    }
+
+    /**
+     * Returns how many batched queries have been sent for the given key type.
+     *
+     * @param type the kind of key
+     * @return the number of queries sent
+     */
+    public long getQueries(LookupType type) {
+        return batches.get(type).queries.get();
+    }
+
+    /**
+     * Registers the {@code users.lookups.batch.queries} and {@code users.lookups.batch.keys}
+     * counters, tagged by lookup type. Their ratio is the average batch size.
+     *
+     * @param registry the meter registry to bind to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        batches.forEach((type, batch) -> {
+            FunctionCounter.builder("users.lookups.batch.queries", batch.queries, AtomicLong::get)
+                    .description("Batched lookup queries sent to the database")
+                    .tag("type", type.getField())
+                    .register(registry);
+            FunctionCounter.builder("users.lookups.batch.keys", batch.keys, AtomicLong::get)
+                    .description("Distinct keys resolved by batched lookup queries")
+                    .tag("type", type.getField())
+                    .register(registry);
+        });
+    }
+
+    private final class Batch {
+
+        private final Function<Collection<String>, Flux<User>> finder;
+        private final Function<User, String> keyExtractor;
+        private final AtomicLong queries = new AtomicLong();
+        private final AtomicLong keys = new AtomicLong();
+        private Map<String, Sinks.One<User>> waiting = new HashMap<>();
+        private Disposable timer;
+
+        private Batch(Function<Collection<String>, Flux<User>> finder, Function<User, String> keyExtractor) {
+            this.finder = finder;
+            this.keyExtractor = keyExtractor;
+        }
+
+        private Mono<User> enqueue(String key) {
+            Sinks.One<User> sink;
+            Map<String, Sinks.One<User>> full = null;
+            synchronized (this) {
+                sink = waiting.computeIfAbsent(key, k -> Sinks.one());
+                if (waiting.size() >= maxSize) {
+                    full = drain();
+                } else if (timer == null) {
+                    timer = scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+            if (full != null) {
+                send(full);
+            }
+            return sink.asMono();
+        }
+
+        private void flush() {
+            Map<String, Sinks.One<User>> ready;
+            synchronized (this) {
+                ready = drain();
+            }
+            if (!ready.isEmpty()) {
+                send(ready);
+            }
+        }
+
+        private Map<String, Sinks.One<User>> drain() {
+            Map<String, Sinks.One<User>> ready = waiting;
+            waiting = new HashMap<>();
+            if (timer != null) {
+                timer.dispose();
+                timer = null;
+            }
+            return ready;
+        }
+
+        private void send(Map<String, Sinks.One<User>> ready) {
+            queries.incrementAndGet();
+            keys.addAndGet(ready.size());
+            finder.apply(ready.keySet())
+                    .collectMap(keyExtractor)
+                    .subscribe(found -> ready.forEach((key, sink) -> {
+                        User user = found.get(key);
+                        if (user != null) {
+                            sink.tryEmitValue(user);
+                        } else {
+                            sink.tryEmitEmpty();
+                        }
+                    }), error -> {
+                        log.warn("Batched lookup of {} keys failed: {}", ready.size(), error.getMessage());
+                        ready.values().forEach(sink -> sink.tryEmitError(error));
+                    });
+        }
+    }
+}
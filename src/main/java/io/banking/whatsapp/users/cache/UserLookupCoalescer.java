@@ -0,0 +1,105 @@
+package io.banking.whatsapp.users.cache;
+
+import io.banking.whatsapp.users.config.UserLookupProperties;
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Single-flight coalescing of concurrent point lookups.
+ * While a lookup for a key is in flight, every other caller asking for the same key
+ * subscribes to that lookup instead of issuing its own query, and all of them receive
+ * its result. The key is released as soon as the lookup completes, so results are
+ * never reused beyond the lifetime of the query.
+ * Deduplicated requests are counted per lookup type and published to Micrometer.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Component
+public class UserLookupCoalescer implements MeterBinder {
+
+    private final boolean enabled;
+    private final Map<LookupType, Map<String, Mono<User>>> inFlight = new EnumMap<>(LookupType.class);
+    private final Map<LookupType, AtomicLong> deduplicated = new EnumMap<>(LookupType.class);
+
+    /**
+     * Creates the coalescer.
+     *
+     * @param properties the lookup configuration
+     */
+    public UserLookupCoalescer(UserLookupProperties properties) {
+        this.enabled = properties.isCoalesce();
+        for (LookupType type : LookupType.values()) {
+            inFlight.put(type, new ConcurrentHashMap<>());
+            deduplicated.put(type, new AtomicLong());
+        }
+    }
+
+    /**
+     * Runs the lookup for the given key, or joins the one already in flight for it.
+     *
+     * @param type the kind of key being looked up
+     * @param key the key value
+     * @param loader the function used to query the user when no lookup is in flight
+     * @return a Mono containing the user, or an empty Mono if the loader finds nothing
+     */
+    public Mono<User> load(LookupType type, String key, Function<String, Mono<User>> loader) {
+        if (!enabled) {
+            return loader.apply(key);
+        }
+        Map<String, Mono<User>> flights = inFlight.get(type);
+        return Mono.defer(() -> {
+            boolean[] leader = {false};
+            Mono<User> flight = flights.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                // Remove only this flight, never a newer one registered for the same key.
+                AtomicReference<Mono<User>> self = new AtomicReference<>();
+                Mono<User> created = loader.apply(k)
+                        .doFinally(signal -> flights.remove(k, self.get()))
+                        .cache();
+                self.set(created);
+                return created;
+            });
+            if (!leader[0]) {
+                deduplicated.get(type).incrementAndGet();
+            }
+            return flight;
+        });
+    }
+
+    /**
+     * Returns how many lookups of the given type joined an in-flight query.
+     *
+     * @param type the kind of key
+     * @return the number of deduplicated lookups
+     */
+    public long getDeduplicated(LookupType type) {
+        return deduplicated.get(type).get();
+    }
+
+    /**
+     * Registers the {@code users.lookups.deduplicated} counter, tagged by lookup type.
+     *
+     * @param registry the meter registry to bind to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        deduplicated.forEach((type, count) -> FunctionCounter.builder("users.lookups.deduplicated", count, AtomicLong::get)
+                .description("Lookups served by joining an identical in-flight query")
+                .tag("type", type.getField())
+                .register(registry));
+    }
+}
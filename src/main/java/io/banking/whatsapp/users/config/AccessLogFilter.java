@@ -0,0 +1,117 @@
+package io.banking.whatsapp.users.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleSupplier;
+
+/**
+ * WebFilter that writes one access log line per request with its method, path, status, latency
+ * and outcome. The line is written when the filter chain terminates, so the latency covers the
+ * whole response body being written, and the outcome tells a completed request from one that
+ * failed or was cancelled, e.g. because the client reset the connection. An error that reaches
+ * this filter is logged with the status the error maps to, or 500.
+ * Requests are sampled; slow, failed and cancelled requests and 5xx responses are always logged.
+ * Lines are written to the {@value #LOGGER_NAME} logger, which
+ * logback-spring.xml routes through an asynchronous appender so that no console I/O happens
+ * on the Netty event loop. The query string is not logged.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+public class AccessLogFilter implements WebFilter {
+
+    /**
+     * Name of the logger the access log is written to.
+     */
+    public static final String LOGGER_NAME = "io.banking.whatsapp.users.access";
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final DoubleSupplier random;
+
+    /**
+     * Creates the filter.
+     *
+     * @param properties the access log configuration
+     */
+    public AccessLogFilter(AccessLogProperties properties) {
+        this(properties, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    AccessLogFilter(AccessLogProperties properties, DoubleSupplier random) {
+        this.sampleRate = properties.getSampleRate();
+        this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+        this.random = random;
+    }
+
+    /**
+     * Times the request and logs it when the rest of the chain completes, fails or is cancelled.
+     *
+     * @param exchange the current exchange
+     * @param chain the remaining filter chain
+     * @return a Mono that completes when the request has been handled
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!log.isInfoEnabled()) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        return chain.filter(exchange)
+                .doOnError(error::set)
+                .doFinally(signal -> log(exchange, start, signal, error.get()));
+    }
+
+    private void log(ServerWebExchange exchange, long start, SignalType signal, Throwable error) {
+        long latency = System.nanoTime() - start;
+        int code = status(exchange.getResponse(), error);
+        boolean failed = code >= 500 || signal != SignalType.ON_COMPLETE;
+        boolean slow = latency >= slowThresholdNanos;
+        if (!failed && !slow && random.getAsDouble() >= sampleRate) {
+            return;
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        long micros = TimeUnit.NANOSECONDS.toMicros(latency);
+        String outcome = outcome(signal);
+        if (failed || slow) {
+            log.warn("{} {} {} {} us {}", request.getMethod(), request.getPath(), code, micros, outcome);
+        } else {
+            log.info("{} {} {} {} us {}", request.getMethod(), request.getPath(), code, micros, outcome);
+        }
+    }
+
+    private static int status(ServerHttpResponse response, Throwable error) {
+        // An error before the commit is turned into a response by the exception handlers, which run after this filter.
+        if (error != null && !response.isCommitted()) {
+            return error instanceof ErrorResponse errorResponse ? errorResponse.getStatusCode().value() : 500;
+        }
+        HttpStatusCode status = response.getStatusCode();
+        return status != null ? status.value() : 200;
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_COMPLETE -> "complete";
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancel";
+            default -> signal.toString();
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package io.banking.whatsapp.users.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the HTTP access log.
+ * Bound from the {@code users.access-log} prefix in application.yml.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Data
+@ConfigurationProperties(prefix = "users.access-log")
+public class AccessLogProperties {
+
+    /**
+     * Whether requests are written to the access log.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Fraction of successful, fast requests that are logged, between 0 and 1.
+     * Slow and failed requests are always logged.
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Latency from which a request is considered slow and always logged.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /**
+     * Capacity of the asynchronous appender queue that buffers log lines.
+     * Lines are dropped rather than blocking the caller when the queue is full.
+     */
+    private int queueSize = 8192;
+}
@@ -2,22 +2,58 @@ package io.banking.whatsapp.users.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.reactivestreams.Publisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * Configuration class for Jackson JSON processing.
  * Provides custom configuration for JSON serialization and deserialization,
  * particularly for handling Java 8 date/time types.
  *
+ * Also registers CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile})
+ * codecs with the same settings, so clients can ask for binary request and response bodies
+ * through {@code Content-Type} and {@code Accept}. Responses are JSON unless the client asks
+ * for a binary format.
+ *
+ * Multi-value binary responses are written as one array once every value is known, so they
+ * are buffered in memory. Only batch lookups return one, bounded by
+ * {@code users.batch.max-lookup-keys}; exports and bulk results stream as NDJSON or SSE only.
+ *
  * @author Marcelo Alejandro Albarracín
  * @email marceloalejandro.albarracin@gmail.com
  * @version 1.0.0
  * @since 2024-03-19
  */
 @Configuration
-public class JacksonConfig {
+public class JacksonConfig implements WebFluxConfigurer {
+
+    /**
+     * Media type of Smile-encoded bodies.
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    private static final MimeType APPLICATION_SMILE = MimeType.valueOf(APPLICATION_SMILE_VALUE);
+    private static final MimeType APPLICATION_SMILE_SUFFIX = MimeType.valueOf("application/*+x-jackson-smile");
 
     /**
      * Creates and configures an ObjectMapper bean with custom modules.
@@ -28,8 +64,106 @@ public class JacksonConfig {
      */
     @Bean
     public ObjectMapper objectMapper() {
-        return Jackson2ObjectMapperBuilder.json()
+        return configure(Jackson2ObjectMapperBuilder.json());
+    }
+
+    /**
+     * Creates an ObjectMapper that reads and writes CBOR, configured like the JSON one.
+     * Not a bean, so the JSON ObjectMapper remains the only one injected by type.
+     *
+     * @return configured CBOR ObjectMapper instance
+     */
+    public ObjectMapper cborObjectMapper() {
+        return configure(Jackson2ObjectMapperBuilder.cbor());
+    }
+
+    /**
+     * Creates an ObjectMapper that reads and writes Smile, configured like the JSON one.
+     * Not a bean, so the JSON ObjectMapper remains the only one injected by type.
+     *
+     * @return configured Smile ObjectMapper instance
+     */
+    public ObjectMapper smileObjectMapper() {
+        return configure(Jackson2ObjectMapperBuilder.smile());
+    }
+
+    /**
+     * Registers the CBOR and Smile codecs for WebFlux request and response bodies.
+     * Custom codecs take precedence over the default ones, so the JSON encoder is
+     * registered ahead of CBOR to keep JSON the response format when the client
+     * accepts any. Smile replaces the default codec, which already ranks after JSON.
+     *
+     * @param configurer the server codec configurer
+     */
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().registerWithDefaultConfig(new Jackson2JsonEncoder(objectMapper()));
+
+        ObjectMapper cbor = cborObjectMapper();
+        configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborDecoder(cbor, MediaType.APPLICATION_CBOR));
+        configurer.customCodecs().registerWithDefaultConfig(new CborEncoder(cbor));
+
+        ObjectMapper smile = smileObjectMapper();
+        configurer.defaultCodecs().jackson2SmileDecoder(
+                new Jackson2SmileDecoder(smile, APPLICATION_SMILE, APPLICATION_SMILE_SUFFIX));
+        configurer.defaultCodecs().jackson2SmileEncoder(new SmileEncoder(smile));
+    }
+
+    private static ObjectMapper configure(Jackson2ObjectMapperBuilder builder) {
+        return builder
                 .modules(new JavaTimeModule())
                 .build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Encodes a multi-value body, such as a batch lookup, as one binary array.
+     * Jackson's encoders join streamed values with JSON array syntax, which
+     * neither CBOR nor Smile can read, so the values are collected first.
+     */
+    private static Flux<DataBuffer> encodeAsList(AbstractJackson2Encoder encoder, Publisher<?> inputStream,
+                                                 DataBufferFactory bufferFactory, ResolvableType elementType,
+                                                 MimeType mimeType, Map<String, Object> hints) {
+        ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+        return Flux.from(inputStream)
+                .collectList()
+                .map(values -> encoder.encodeValue(values, bufferFactory, listType, mimeType, hints))
+                .flux();
+    }
+
+    private static final class CborEncoder extends Jackson2CborEncoder {
+
+        private CborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType,
+                                       Map<String, Object> hints) {
+            if (inputStream instanceof Mono) {
+                return Mono.from(inputStream)
+                        .map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints))
+                        .flux();
+            }
+            return encodeAsList(this, inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+    }
+
+    private static final class SmileEncoder extends Jackson2SmileEncoder {
+
+        private SmileEncoder(ObjectMapper mapper) {
+            super(mapper, APPLICATION_SMILE, APPLICATION_SMILE_SUFFIX);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType,
+                                       Map<String, Object> hints) {
+            boolean streaming = getStreamingMediaTypes().stream().anyMatch(type -> type.isCompatibleWith(mimeType));
+            if (inputStream instanceof Mono || streaming) {
+                return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+            }
+            return encodeAsList(this, inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+    }
+}
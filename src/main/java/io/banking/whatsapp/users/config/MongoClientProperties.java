@@ -0,0 +1,101 @@
+package io.banking.whatsapp.users.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration properties for the MongoDB client connection pool, timeouts and wire compression.
+ * Bound from the {@code users.mongo} prefix in application.yml and applied on top of
+ * the standard {@code spring.data.mongodb} connection settings.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Data
+@ConfigurationProperties(prefix = "users.mongo")
+public class MongoClientProperties {
+
+    /**
+     * Connection pool settings.
+     */
+    private Pool pool = new Pool();
+
+    /**
+     * Maximum time to establish a new connection.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Maximum time to wait for a response on an open connection.
+     */
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Maximum time to wait for a suitable server to become available.
+     */
+    private Duration serverSelectionTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Wire compressors offered to the server, in order of preference.
+     * Supported values are zstd, snappy and zlib; the server picks the first one it also supports.
+     */
+    private List<String> compressors = List.of("zstd", "snappy");
+
+    /**
+     * Connection warm-up settings.
+     */
+    private WarmUp warmUp = new WarmUp();
+
+    /**
+     * Connection pool settings.
+     */
+    @Data
+    public static class Pool {
+
+        /**
+         * Maximum number of connections per server.
+         */
+        private int maxSize = 100;
+
+        /**
+         * Number of connections per server kept open, even when idle.
+         */
+        private int minSize = 10;
+
+        /**
+         * Maximum time a request waits for a free connection before failing.
+         */
+        private Duration maxWaitTime = Duration.ofSeconds(2);
+
+        /**
+         * Time after which an idle connection above the minimum size is closed.
+         */
+        private Duration maxConnectionIdleTime = Duration.ofMinutes(10);
+
+        /**
+         * Maximum number of connections a pool may be establishing at the same time.
+         */
+        private int maxConnecting = 2;
+    }
+
+    /**
+     * Connection warm-up settings.
+     */
+    @Data
+    public static class WarmUp {
+
+        /**
+         * Whether the minimum number of pool connections is opened at startup.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum time startup waits for the warm-up to finish.
+         */
+        private Duration timeout = Duration.ofSeconds(10);
+    }
+}
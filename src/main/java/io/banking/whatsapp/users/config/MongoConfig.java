@@ -0,0 +1,62 @@
+package io.banking.whatsapp.users.config;
+
+import com.mongodb.MongoCompressor;
+import com.mongodb.MongoClientSettings;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration class for the MongoDB client.
+ * Applies the pool, timeout and compression settings from {@link MongoClientProperties}
+ * to the client built by Spring Boot.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Configuration
+public class MongoConfig {
+
+    /**
+     * Creates the customizer that tunes the MongoDB client settings.
+     *
+     * @param properties the MongoDB client configuration
+     * @return MongoClientSettingsBuilderCustomizer applying the configured settings
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientSettingsCustomizer(MongoClientProperties properties) {
+        return builder -> customize(builder, properties);
+    }
+
+    static void customize(MongoClientSettings.Builder builder, MongoClientProperties properties) {
+        MongoClientProperties.Pool pool = properties.getPool();
+        builder.applyToConnectionPoolSettings(settings -> settings
+                        .maxSize(pool.getMaxSize())
+                        .minSize(pool.getMinSize())
+                        .maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnecting(pool.getMaxConnecting()))
+                .applyToSocketSettings(settings -> settings
+                        .connectTimeout((int) properties.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout((int) properties.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(settings -> settings
+                        .serverSelectionTimeout(properties.getServerSelectionTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                .compressorList(compressors(properties.getCompressors()));
+    }
+
+    private static List<MongoCompressor> compressors(List<String> names) {
+        return names.stream()
+                .map(name -> switch (name.trim().toLowerCase(Locale.ROOT)) {
+                    case "zstd" -> MongoCompressor.createZstdCompressor();
+                    case "snappy" -> MongoCompressor.createSnappyCompressor();
+                    case "zlib" -> MongoCompressor.createZlibCompressor();
+                    default -> throw new IllegalArgumentException("Unsupported MongoDB compressor: " + name);
+                })
+                .toList();
+    }
+}
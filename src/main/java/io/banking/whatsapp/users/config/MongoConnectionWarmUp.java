@@ -0,0 +1,77 @@
+package io.banking.whatsapp.users.config;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Opens the minimum number of pool connections at startup, so that the first requests
+ * after a deploy do not pay for connection establishment and authentication.
+ * The driver only fills the pool to its minimum size in the background; this runner
+ * issues that many concurrent pings and waits for them, bounded by the warm-up timeout.
+ * A failed or slow warm-up is logged and does not stop the application.
+ *
+ * Skipped when no MongoDB client is configured, as with the in-memory profile.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "users.mongo.warm-up", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MongoConnectionWarmUp implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoConnectionWarmUp.class);
+
+    private final ObjectProvider<MongoClient> mongoClient;
+    private final MongoClientProperties properties;
+
+    /**
+     * Runs the warm-up at startup and blocks until it finishes or times out.
+     *
+     * @param args the application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        MongoClient client = mongoClient.getIfAvailable();
+        int connections = properties.getPool().getMinSize();
+        if (client == null || connections <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            warmUp(client, connections)
+                    .timeout(properties.getWarmUp().getTimeout())
+                    .block();
+            log.info("MongoDB pool warmed up with {} connections in {} ms",
+                    connections, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.warn("MongoDB pool warm-up did not complete: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Issues the given number of concurrent pings, each holding its own pool connection.
+     *
+     * @param client the MongoDB client
+     * @param connections the number of connections to open
+     * @return a Mono that completes when every ping has returned
+     */
+    Mono<Void> warmUp(MongoClient client, int connections) {
+        Document ping = new Document("ping", 1);
+        return Flux.range(0, connections)
+                .flatMap(i -> Mono.from(client.getDatabase("admin").runCommand(ping)), connections)
+                .then();
+    }
+}
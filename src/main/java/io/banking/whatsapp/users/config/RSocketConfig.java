@@ -0,0 +1,33 @@
+package io.banking.whatsapp.users.config;
+
+import jakarta.validation.Validator;
+import org.springframework.boot.autoconfigure.rsocket.RSocketMessageHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+/**
+ * Configuration class for the RSocket server.
+ * The server itself is started by Spring Boot on {@code spring.rsocket.server.port},
+ * encoding payloads as CBOR with the application's Jackson settings.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Configuration
+public class RSocketConfig {
+
+    /**
+     * Applies Bean Validation to {@code @Valid} payloads of RSocket routes,
+     * with the same constraints the REST endpoints enforce.
+     *
+     * @param validator the application's Bean Validation validator
+     * @return the customizer that sets the validator on the RSocket message handler
+     */
+    @Bean
+    public RSocketMessageHandlerCustomizer rSocketValidationCustomizer(Validator validator) {
+        return handler -> handler.setValidator(new SpringValidatorAdapter(validator));
+    }
+}
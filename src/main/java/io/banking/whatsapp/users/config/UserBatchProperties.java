@@ -0,0 +1,38 @@
+package io.banking.whatsapp.users.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for batch user operations.
+ * Bound from the {@code users.batch} prefix in application.yml.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Data
+@ConfigurationProperties(prefix = "users.batch")
+public class UserBatchProperties {
+
+    /**
+     * Maximum number of keys accepted in a single batch lookup request.
+     */
+    private int maxLookupKeys = 5_000;
+
+    /**
+     * Maximum number of IDs accepted in a single bulk delete request.
+     */
+    private int maxDeleteIds = 5_000;
+
+    /**
+     * Maximum number of keys sent to MongoDB in a single {@code $in} query or delete.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Number of users written per unordered {@code insertMany} during bulk creation.
+     */
+    private int insertChunkSize = 1_000;
+}
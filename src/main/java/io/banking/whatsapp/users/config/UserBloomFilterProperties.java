@@ -0,0 +1,47 @@
+package io.banking.whatsapp.users.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the Bloom filters that reject lookups of unknown keys.
+ * Bound from the {@code users.bloom-filter} prefix in application.yml.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Data
+@ConfigurationProperties(prefix = "users.bloom-filter")
+public class UserBloomFilterProperties {
+
+    /**
+     * Whether lookups by DNI and phone number are checked against the Bloom filters.
+     * Users created by other instances are only known after the next rebuild, so the
+     * rebuild interval bounds how long such a user can be reported as missing here.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of keys each filter is sized for.
+     */
+    private long expectedInsertions = 1_000_000;
+
+    /**
+     * Target false positive probability at the expected number of keys.
+     */
+    private double falsePositiveProbability = 0.01;
+
+    /**
+     * Time between two rebuilds of the filters from the database.
+     * Rebuilding drops keys of deleted or updated users and picks up writes made elsewhere.
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+
+    /**
+     * Number of keys MongoDB returns per cursor batch while rebuilding.
+     */
+    private int cursorBatchSize = 5000;
+}
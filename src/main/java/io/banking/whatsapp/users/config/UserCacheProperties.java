@@ -0,0 +1,47 @@
+package io.banking.whatsapp.users.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-process user cache.
+ * Bound from the {@code users.cache} prefix in application.yml.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Data
+@ConfigurationProperties(prefix = "users.cache")
+public class UserCacheProperties {
+
+    /**
+     * Whether lookups by ID and DNI are served through the cache.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of users kept in memory before size-based eviction kicks in.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * Time after which a cached user is evicted.
+     * Bounds how stale an entry can be when another instance updates the same user.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(5);
+
+    /**
+     * Time during which a lookup that found no user is answered as not found without a query.
+     * Bounds how long a user created by another instance can be reported as missing here.
+     * Zero disables negative caching.
+     */
+    private Duration negativeTtl = Duration.ofSeconds(5);
+
+    /**
+     * Maximum number of not-found keys remembered per lookup type.
+     */
+    private long negativeMaximumSize = 100_000;
+}
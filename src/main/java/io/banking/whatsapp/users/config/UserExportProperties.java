@@ -0,0 +1,29 @@
+package io.banking.whatsapp.users.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the streaming export of users.
+ * Bound from the {@code users.export} prefix in application.yml.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Data
+@ConfigurationProperties(prefix = "users.export")
+public class UserExportProperties {
+
+    /**
+     * Number of documents MongoDB returns per cursor batch while exporting.
+     */
+    private int cursorBatchSize = 500;
+
+    /**
+     * Maximum number of users requested ahead of what the client has consumed.
+     * Keeps memory flat when the client reads slower than MongoDB delivers.
+     */
+    private int prefetch = 256;
+}
@@ -0,0 +1,52 @@
+package io.banking.whatsapp.users.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+/**
+ * Configuration properties for point lookups by ID, DNI and phone number.
+ * Bound from the {@code users.lookup} prefix in application.yml.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Data
+@ConfigurationProperties(prefix = "users.lookup")
+public class UserLookupProperties {
+
+    /**
+     * Whether concurrent cache misses for the same key share a single database query.
+     */
+    private boolean coalesce = true;
+
+    /**
+     * Micro-batching of point lookups into {@code $in} queries.
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * Configuration of the lookup micro-batcher.
+     */
+    @Data
+    public static class Batch {
+
+        /**
+         * Whether cache misses are collected and sent as one {@code $in} query per key type.
+         * Trades up to one window of added latency for fewer queries under load.
+         */
+        private boolean enabled = false;
+
+        /**
+         * How long the first lookup of a batch waits for others to join it.
+         */
+        private Duration window = Duration.ofMillis(2);
+
+        /**
+         * Number of distinct keys that sends a batch without waiting for the window to end.
+         */
+        private int maxSize = 100;
+    }
+}
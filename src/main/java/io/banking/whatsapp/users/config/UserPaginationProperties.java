@@ -0,0 +1,28 @@
+package io.banking.whatsapp.users.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for paginated user listings.
+ * Bound from the {@code users.pagination} prefix in application.yml.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Data
+@ConfigurationProperties(prefix = "users.pagination")
+public class UserPaginationProperties {
+
+    /**
+     * Page size used when the client does not request one.
+     */
+    private int defaultSize = 50;
+
+    /**
+     * Largest page size a client can request. Larger values are capped to this size.
+     */
+    private int maxSize = 500;
+}
@@ -0,0 +1,42 @@
+package io.banking.whatsapp.users.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+/**
+ * Configuration properties for routing user reads across the replica set.
+ * Bound from the {@code users.read} prefix in application.yml.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Data
+@ConfigurationProperties(prefix = "users.read")
+public class UserReadProperties {
+
+    /**
+     * Read preference for lookups, listings and exports: primary, primaryPreferred,
+     * secondary, secondaryPreferred or nearest. Writes always go to the primary.
+     */
+    private String preference = "primary";
+
+    /**
+     * Maximum replication lag of a secondary eligible for reads, or null for no limit.
+     * MongoDB requires at least 90 seconds; not allowed with the primary preference.
+     */
+    private Duration maxStaleness;
+
+    /**
+     * Time during which a user written by this instance is read from the primary,
+     * so a client reading right after its own write sees it. Zero disables the pinning.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);
+
+    /**
+     * Maximum number of recently written keys tracked for read-your-writes.
+     */
+    private long recentWritesMaximumSize = 100_000;
+}
@@ -1,10 +1,10 @@
 package io.banking.whatsapp.users.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.server.WebFilter;
 import org.springframework.context.annotation.Bean;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * Configuration class for web-related beans and settings.
@@ -17,27 +17,31 @@ import org.slf4j.LoggerFactory;
  */
 @Configuration
 public class WebConfig {
-    
-    private static final Logger log = LoggerFactory.getLogger(WebConfig.class);
 
     /**
-     * Creates a WebFilter bean that logs HTTP request and response details.
-     * This filter logs the HTTP method, URI, and response status for each request.
+     * Creates the WebFilter that writes the sampled, asynchronous HTTP access log.
+     * Each logged line holds the HTTP method, path, response status and latency.
      *
+     * @param properties the access log configuration
      * @return WebFilter instance that handles request/response logging
      */
     @Bean
-    public WebFilter loggingFilter() {
+    @ConditionalOnProperty(prefix = "users.access-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public WebFilter accessLogFilter(AccessLogProperties properties) {
+        return new AccessLogFilter(properties);
+    }
+
+    /**
+     * Creates the WebFilter that adds {@code Vary: Accept} to every response.
+     * The same URL can return JSON, CBOR or Smile, so caches must key on the Accept header.
+     *
+     * @return WebFilter instance that sets the Vary header
+     */
+    @Bean
+    public WebFilter varyOnAcceptFilter() {
         return (exchange, chain) -> {
-            log.debug("Request: {} {}", 
-                exchange.getRequest().getMethod(), 
-                exchange.getRequest().getURI());
-            
-            return chain.filter(exchange)
-                .doOnSuccess(v -> {
-                    log.debug("Response Status: {}", 
-                        exchange.getResponse().getStatusCode());
-                });
+            exchange.getResponse().getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            return chain.filter(exchange);
         };
     }
-} 
\ No newline at end of file
+}
@@ -1,9 +1,21 @@
 package io.banking.whatsapp.users.controller;
 
+import io.banking.whatsapp.users.config.JacksonConfig;
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.dto.UserBulkDeleteRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserBulkDeleteResultDTO;
+import io.banking.whatsapp.users.domain.dto.UserBulkResultDTO;
+import io.banking.whatsapp.users.domain.dto.UserLookupRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserLookupResultDTO;
+import io.banking.whatsapp.users.domain.dto.UserPatchRequestDTO;
 import io.banking.whatsapp.users.domain.dto.UserRequestDTO;
 import io.banking.whatsapp.users.domain.dto.UserResponseDTO;
 import io.banking.whatsapp.users.domain.dto.ErrorResponseDTO;
+import io.banking.whatsapp.users.exception.NotFoundException;
+import io.banking.whatsapp.users.exception.PreconditionFailedException;
 import io.banking.whatsapp.users.service.UserService;
+import io.banking.whatsapp.users.utils.ETags;
+import io.banking.whatsapp.users.utils.UserFields;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,14 +27,29 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * REST Controller for managing User operations.
  * This controller provides endpoints for CRUD operations on users in the banking WhatsApp system.
+ * Single-user responses carry a strong ETag that names the user's version, the requested
+ * fields and the body format, so each representation is validated separately. Conditional GETs with a current
+ * {@code If-None-Match} get 304 Not Modified, answered from the cache when the user is cached,
+ * and updates with {@code If-Match} only apply to the version the client last read.
+ * Bodies are JSON by default; clients may send and accept CBOR or Smile instead.
  *
 * @author Marcelo Alejandro Albarracín
  * @email marceloalejandro.albarracin@gmail.com
@@ -34,6 +61,9 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 @Tag(name = "Users", description = "User management APIs")
 public class UserController {
+    private static final List<MediaType> BODY_TYPES = List.of(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR, MediaType.valueOf(JacksonConfig.APPLICATION_SMILE_VALUE));
+
     private final UserService userService;
     private static final Logger log = LoggerFactory.getLogger(UserController.class);
 
@@ -56,44 +86,137 @@ public class UserController {
         return userService.createUser(request);
     }
 
+    /**
+     * Creates many users in one request.
+     * Accepts either a JSON array or an NDJSON stream of users, and streams back one
+     * result per user so a failing entry does not abort the rest of the batch.
+     *
+     * @param requests The users to create
+     * @return One result per submitted user, in submission order
+     */
+    @Operation(summary = "Bulk create users",
+               description = "Creates users from a JSON array or an NDJSON stream. Users are validated and "
+                       + "written in chunks with unordered inserts; per-user success or failure is streamed back")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Per-user creation results")
+    })
+    @PostMapping(value = "/bulk",
+                 consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+                 produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<UserBulkResultDTO> createUsers(@RequestBody Flux<UserRequestDTO> requests) {
+        return userService.createUsers(requests);
+    }
+
     /**
      * Retrieves a user by their ID.
      *
      * @param id The ID of the user to retrieve
-     * @return The user information if found
+     * @param fields The fields to return, or every field if omitted
+     * @param accept The body formats the client accepts
+     * @param ifNoneMatch The ETags the client already holds
+     * @return The user information if found, or 304 Not Modified if the client's copy is current
      */
     @Operation(summary = "Get user by ID")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "User found",
                     content = @Content(schema = @Schema(implementation = UserResponseDTO.class))),
+        @ApiResponse(responseCode = "304", description = "User not modified"),
         @ApiResponse(responseCode = "404", description = "User not found",
                     content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
     })
     @GetMapping("/{id}")
-    public Mono<UserResponseDTO> getUserById(
+    public Mono<ResponseEntity<UserResponseDTO>> getUserById(
             @Parameter(description = "User ID", example = "123e4567-e89b-12d3-a456-426614174000")
-            @PathVariable String id) {
-        return userService.getUserById(id);
+            @PathVariable String id,
+            @Parameter(description = "Comma-separated fields to return", example = "id,firstName,status")
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Set<String> requested = UserFields.parse(fields);
+        return conditional(LookupType.ID, id, requested, accept, ifNoneMatch,
+                () -> userService.getUserById(id, requested));
+    }
+
+    /**
+     * Retrieves users one page at a time, ordered by ID.
+     * The body stays a plain array of users, as it was before pagination; the next page is
+     * linked from a {@code Link: <...>; rel="next"} header, absent on the last page.
+     *
+     * @param size The page size
+     * @param cursor The cursor returned with the previous page
+     * @param status The status to filter by
+     * @param fields The fields to return, or every field if omitted
+     * @param request The current request, used to build the link to the next page
+     * @return A page of users, with a link to the next page if there is one
+     */
+    @Operation(summary = "Get users",
+               description = "Returns users one page at a time using keyset pagination. "
+                       + "Follow the Link header with rel=\"next\" to fetch the following page")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of users found"),
+        @ApiResponse(responseCode = "400", description = "Invalid page size or cursor",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+                            JacksonConfig.APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<List<UserResponseDTO>>> getUsers(
+            @Parameter(description = "Page size", example = "50")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Cursor returned with the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "User status", example = "ACTIVE")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Comma-separated fields to return", example = "id,firstName,status")
+            @RequestParam(required = false) String fields,
+            ServerHttpRequest request) {
+        return userService.getUsers(size, cursor, status, UserFields.parse(fields))
+                .map(page -> {
+                    ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+                    if (page.getNextCursor() != null) {
+                        String next = UriComponentsBuilder.fromHttpRequest(request)
+                                .replaceQueryParam("cursor", page.getNextCursor())
+                                .build()
+                                .toUriString();
+                        builder.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+                    }
+                    return builder.body(page.getItems());
+                });
     }
 
     /**
-     * Retrieves all users in the system.
+     * Streams every user in the system, one record at a time.
+     * Selected when the client accepts NDJSON or Server-Sent Events; the first users
+     * are written as soon as they are read, without buffering the whole response.
      *
-     * @return A flux of all users
+     * @param status The status to filter by
+     * @param fields The fields to return, or every field if omitted
+     * @return A stream of all users
      */
-    @Operation(summary = "Get all users")
+    @Operation(summary = "Export all users",
+               description = "Streams every user as NDJSON (Accept: application/x-ndjson) "
+                       + "or Server-Sent Events (Accept: text/event-stream)")
     @ApiResponses({
-        @ApiResponse(responseCode = "200", description = "List of users found")
+        @ApiResponse(responseCode = "200", description = "Stream of users")
     })
-    @GetMapping
-    public Flux<UserResponseDTO> getAllUsers() {
-        return userService.getAllUsers();
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<UserResponseDTO> exportUsers(
+            @Parameter(description = "User status", example = "ACTIVE")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Comma-separated fields to return", example = "id,firstName,status")
+            @RequestParam(required = false) String fields) {
+        return userService.getAllUsers(status, UserFields.parse(fields));
     }
 
     /**
      * Updates an existing user.
      *
+     * With {@code If-Match}, the update only applies if the user is still at the version
+     * the given ETag names; otherwise nothing is written and 412 is returned.
+     * {@code If-Match: *} only applies the update if the user exists, and returns 412 otherwise.
+     *
      * @param id The ID of the user to update
+     * @param ifMatch The ETag of the version the client last read
+     * @param accept The body formats the client accepts
      * @param request The updated user data
      * @return The updated user information
      */
@@ -102,14 +225,53 @@ public class UserController {
         @ApiResponse(responseCode = "200", description = "User updated successfully",
                     content = @Content(schema = @Schema(implementation = UserResponseDTO.class))),
         @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+        @ApiResponse(responseCode = "412", description = "User modified since the If-Match version, or missing with If-Match: *",
                     content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
     })
     @PutMapping("/{id}")
-    public Mono<UserResponseDTO> updateUser(
+    public Mono<ResponseEntity<UserResponseDTO>> updateUser(
             @Parameter(description = "User ID", example = "123e4567-e89b-12d3-a456-426614174000")
             @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
             @Valid @RequestBody UserRequestDTO request) {
-        return userService.updateUser(id, request);
+        Long version = ETags.version(ifMatch, id);
+        Mono<UserResponseDTO> updated = version != null
+                ? userService.updateUser(id, request, version)
+                : userService.updateUser(id, request);
+        if (ETags.isWildcard(ifMatch)) {
+            updated = updated.onErrorMap(NotFoundException.class,
+                    ex -> new PreconditionFailedException("If-Match: * requires user " + id + " to exist"));
+        }
+        MediaType bodyType = bodyType(accept);
+        return updated.map(user -> ok(user, null, bodyType));
+    }
+
+    /**
+     * Partially updates an existing user.
+     * Only the fields present in the request are written; a request that changes
+     * nothing performs no write.
+     *
+     * @param id The ID of the user to update
+     * @param request The fields to change
+     * @return The user information after the update
+     */
+    @Operation(summary = "Partially update user")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "User updated successfully",
+                    content = @Content(schema = @Schema(implementation = UserResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input data",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+        @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PatchMapping("/{id}")
+    public Mono<UserResponseDTO> patchUser(
+            @Parameter(description = "User ID", example = "123e4567-e89b-12d3-a456-426614174000")
+            @PathVariable String id,
+            @Valid @RequestBody UserPatchRequestDTO request) {
+        return userService.patchUser(id, request);
     }
 
     /**
@@ -132,25 +294,168 @@ public class UserController {
         return userService.deleteUser(id);
     }
 
+    /**
+     * Deletes many users by ID in one request.
+     * Intended for purge jobs; IDs that match no user are ignored.
+     *
+     * @param request The IDs of the users to delete
+     * @return How many users were requested and actually deleted
+     */
+    @Operation(summary = "Bulk delete users", description = "Deletes every user whose ID is in the request")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Users deleted",
+                    content = @Content(schema = @Schema(implementation = UserBulkDeleteResultDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Missing or too many IDs",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PostMapping("/bulk-delete")
+    public Mono<UserBulkDeleteResultDTO> deleteUsers(@Valid @RequestBody UserBulkDeleteRequestDTO request) {
+        return userService.deleteUsers(request);
+    }
+
     /**
      * Retrieves a user by their DNI (National ID).
      *
      * @param dni The DNI of the user to retrieve
-     * @return The user information if found
+     * @param fields The fields to return, or every field if omitted
+     * @param accept The body formats the client accepts
+     * @param ifNoneMatch The ETags the client already holds
+     * @return The user information if found, or 304 Not Modified if the client's copy is current
      */
     @Operation(summary = "Get user by DNI")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "User found",
                     content = @Content(schema = @Schema(implementation = UserResponseDTO.class))),
+        @ApiResponse(responseCode = "304", description = "User not modified"),
         @ApiResponse(responseCode = "404", description = "User not found",
                     content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
     })
     @GetMapping("/dni/{dni}")
-    public Mono<UserResponseDTO> getUserByDni(
+    public Mono<ResponseEntity<UserResponseDTO>> getUserByDni(
             @Parameter(description = "User DNI (National ID)", example = "12345678")
-            @PathVariable String dni) {
-        return userService.getUserByDni(dni)
+            @PathVariable String dni,
+            @Parameter(description = "Comma-separated fields to return", example = "id,firstName,status")
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Set<String> requested = UserFields.parse(fields);
+        return conditional(LookupType.DNI, dni, requested, accept, ifNoneMatch, () -> userService.getUserByDni(dni, requested)
             .doOnNext(response -> log.debug("Returning user: {}", response))
-            .doOnError(error -> log.error("Error getting user by DNI: {}", error.getMessage()));
+            .doOnError(error -> log.error("Error getting user by DNI: {}", error.getMessage())));
+    }
+
+    /**
+     * Retrieves a user by their phone number.
+     * The phone number is normalized to E.164 before the lookup, so formatted numbers,
+     * the 00 international prefix and digit-only numbers with the country code, as WhatsApp
+     * sends them, are accepted; numbers with a national trunk prefix are rejected with 400.
+     *
+     * @param phone The phone number of the user to retrieve
+     * @param fields The fields to return, or every field if omitted
+     * @param accept The body formats the client accepts
+     * @param ifNoneMatch The ETags the client already holds
+     * @return The user information if found, or 304 Not Modified if the client's copy is current
+     */
+    @Operation(summary = "Get user by phone number")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "User found",
+                    content = @Content(schema = @Schema(implementation = UserResponseDTO.class))),
+        @ApiResponse(responseCode = "304", description = "User not modified"),
+        @ApiResponse(responseCode = "400", description = "Invalid phone number",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))),
+        @ApiResponse(responseCode = "404", description = "User not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @GetMapping("/phone/{phone}")
+    public Mono<ResponseEntity<UserResponseDTO>> getUserByPhoneNumber(
+            @Parameter(description = "User phone number", example = "+1234567890")
+            @PathVariable String phone,
+            @Parameter(description = "Comma-separated fields to return", example = "id,firstName,status")
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Set<String> requested = UserFields.parse(fields);
+        return conditional(LookupType.PHONE_NUMBER, phone, requested, accept, ifNoneMatch,
+                () -> userService.getUserByPhoneNumber(phone, requested));
+    }
+
+    /**
+     * Resolves many users by ID, DNI or phone number in a single request.
+     *
+     * @param request The IDs, DNIs and phone numbers to resolve
+     * @return One result per requested key, in request order, flagged as found or not found
+     */
+    @Operation(summary = "Batch lookup of users",
+               description = "Resolves lists of IDs, DNIs and phone numbers in one round trip. "
+                       + "Results are returned in request order (IDs, then DNIs, then phone numbers) "
+                       + "with an explicit found flag for each key")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Lookup results"),
+        @ApiResponse(responseCode = "400", description = "Too many keys in the request",
+                    content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class)))
+    })
+    @PostMapping("/lookup")
+    public Flux<UserLookupResultDTO> lookupUsers(@RequestBody UserLookupRequestDTO request) {
+        return userService.lookupUsers(request);
+    }
+
+    private Mono<ResponseEntity<UserResponseDTO>> conditional(LookupType type, String key, Set<String> fields,
+                                                              String accept, String ifNoneMatch,
+                                                              Supplier<Mono<UserResponseDTO>> lookup) {
+        // A loaded user whose ETag matches If-None-Match is still turned into 304 by WebFlux,
+        // before its body is serialized; the cached ETag lets a current client skip the load as well.
+        MediaType bodyType = bodyType(accept);
+        Mono<ResponseEntity<UserResponseDTO>> response = Mono.defer(lookup).map(user -> ok(user, fields, bodyType));
+        if (ifNoneMatch == null) {
+            return response;
+        }
+        return userService.getCachedETag(type, key)
+                .map(etag -> ETags.of(etag, fields, bodyType))
+                .filter(etag -> ETags.matches(ifNoneMatch, etag))
+                .map(etag -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<UserResponseDTO>build())
+                .switchIfEmpty(response);
+    }
+
+    private ResponseEntity<UserResponseDTO> ok(UserResponseDTO user, Set<String> fields, MediaType bodyType) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (bodyType != null) {
+            builder.contentType(bodyType);
+        }
+        String etag = ETags.of(user.getEtag(), fields, bodyType);
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(user);
+    }
+
+    /**
+     * Picks the body format for a single user from the Accept header, preferring JSON as the codecs do.
+     * The format is then set on the response, so the ETag always names the body actually sent.
+     *
+     * @param accept the raw Accept header
+     * @return the body format, or null if the client accepts none of them
+     */
+    private static MediaType bodyType(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return null;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType acceptable : accepted) {
+            if (acceptable.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType bodyType : BODY_TYPES) {
+                if (acceptable.isCompatibleWith(bodyType)) {
+                    return bodyType;
+                }
+            }
+        }
+        return null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,209 @@
+package io.banking.whatsapp.users.controller;
+
+import io.banking.whatsapp.users.domain.dto.UserBulkDeleteRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserBulkDeleteResultDTO;
+import io.banking.whatsapp.users.domain.dto.UserBulkResultDTO;
+import io.banking.whatsapp.users.domain.dto.UserLookupRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserLookupResultDTO;
+import io.banking.whatsapp.users.domain.dto.UserPatchRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserResponseDTO;
+import io.banking.whatsapp.users.exception.NotFoundException;
+import io.banking.whatsapp.users.exception.PreconditionFailedException;
+import io.banking.whatsapp.users.exception.UserException;
+import io.banking.whatsapp.users.service.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.support.MethodArgumentNotValidException;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.stream.Collectors;
+
+/**
+ * RSocket controller exposing the user operations over long-lived, multiplexed connections.
+ * Intended for high-rate internal clients such as the WhatsApp gateway: many requests share
+ * one connection, and payloads are encoded as CBOR instead of JSON.
+ *
+ * Single-user operations are request-response routes, with the key in the route
+ * (e.g. {@code users.by-id.{id}}); lookups and exports are request-stream routes, and bulk
+ * creation is a request-channel route. Failures are sent as RSocket application errors
+ * carrying the exception message; invalid payloads are reported as
+ * {@code "Validation error: field: message, ..."}.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Controller
+@MessageMapping("users")
+@RequiredArgsConstructor
+public class UserRSocketController {
+    private final UserService userService;
+
+    /**
+     * Creates a new user.
+     *
+     * @param request The user data to create
+     * @return The created user information
+     */
+    @MessageMapping("create")
+    public Mono<UserResponseDTO> createUser(@Valid UserRequestDTO request) {
+        return userService.createUser(request);
+    }
+
+    /**
+     * Creates the users sent on the channel, streaming back one result per user.
+     *
+     * @param requests The users to create
+     * @return One result per submitted user, in submission order
+     */
+    @MessageMapping("create-bulk")
+    public Flux<UserBulkResultDTO> createUsers(Flux<UserRequestDTO> requests) {
+        return userService.createUsers(requests);
+    }
+
+    /**
+     * Retrieves a user by their ID.
+     *
+     * @param id The ID of the user to retrieve
+     * @return The user information if found
+     */
+    @MessageMapping("by-id.{id}")
+    public Mono<UserResponseDTO> getUserById(@DestinationVariable String id) {
+        return userService.getUserById(id);
+    }
+
+    /**
+     * Retrieves a user by their DNI (National ID).
+     *
+     * @param dni The DNI of the user to retrieve
+     * @return The user information if found
+     */
+    @MessageMapping("by-dni.{dni}")
+    public Mono<UserResponseDTO> getUserByDni(@DestinationVariable String dni) {
+        return userService.getUserByDni(dni);
+    }
+
+    /**
+     * Retrieves a user by their phone number, normalized to E.164 before the lookup.
+     *
+     * @param phone The phone number of the user to retrieve
+     * @return The user information if found
+     */
+    @MessageMapping("by-phone.{phone}")
+    public Mono<UserResponseDTO> getUserByPhoneNumber(@DestinationVariable String phone) {
+        return userService.getUserByPhoneNumber(phone);
+    }
+
+    /**
+     * Resolves many users by ID, DNI or phone number, streaming one result per requested key.
+     *
+     * @param request The IDs, DNIs and phone numbers to resolve
+     * @return One result per requested key, in request order, flagged as found or not found
+     */
+    @MessageMapping("lookup")
+    public Flux<UserLookupResultDTO> lookupUsers(UserLookupRequestDTO request) {
+        return userService.lookupUsers(request);
+    }
+
+    /**
+     * Streams every user in the system, honouring the requester's demand.
+     *
+     * @return A stream of all users
+     */
+    @MessageMapping("export")
+    public Flux<UserResponseDTO> exportUsers() {
+        return userService.getAllUsers(null, null);
+    }
+
+    /**
+     * Streams every user with the given status, honouring the requester's demand.
+     *
+     * @param status The status to filter by
+     * @return A stream of the matching users
+     */
+    @MessageMapping("export.{status}")
+    public Flux<UserResponseDTO> exportUsers(@DestinationVariable String status) {
+        return userService.getAllUsers(status, null);
+    }
+
+    /**
+     * Updates an existing user.
+     *
+     * @param id The ID of the user to update
+     * @param request The updated user data
+     * @return The updated user information
+     */
+    @MessageMapping("update.{id}")
+    public Mono<UserResponseDTO> updateUser(@DestinationVariable String id, @Valid UserRequestDTO request) {
+        return userService.updateUser(id, request);
+    }
+
+    /**
+     * Partially updates an existing user.
+     *
+     * @param id The ID of the user to update
+     * @param request The fields to change
+     * @return The user information after the update
+     */
+    @MessageMapping("patch.{id}")
+    public Mono<UserResponseDTO> patchUser(@DestinationVariable String id, @Valid UserPatchRequestDTO request) {
+        return userService.patchUser(id, request);
+    }
+
+    /**
+     * Deletes a user by their ID.
+     *
+     * @param id The ID of the user to delete
+     * @return An empty Mono when completed
+     */
+    @MessageMapping("delete.{id}")
+    public Mono<Void> deleteUser(@DestinationVariable String id) {
+        return userService.deleteUser(id);
+    }
+
+    /**
+     * Deletes many users by ID.
+     *
+     * @param request The IDs of the users to delete
+     * @return How many users were requested and actually deleted
+     */
+    @MessageMapping("delete-bulk")
+    public Mono<UserBulkDeleteResultDTO> deleteUsers(@Valid UserBulkDeleteRequestDTO request) {
+        return userService.deleteUsers(request);
+    }
+
+    /**
+     * Sends expected failures, such as a missing user, to the requester as application errors
+     * without logging them as unhandled.
+     *
+     * @param ex the exception that was thrown
+     * @return a Mono that fails with the same exception
+     */
+    @MessageExceptionHandler({NotFoundException.class, UserException.class, PreconditionFailedException.class})
+    public Mono<Void> handleExpectedException(RuntimeException ex) {
+        return Mono.error(ex);
+    }
+
+    /**
+     * Converts payload validation failures into an application error listing each invalid field.
+     *
+     * @param ex the exception thrown during payload validation
+     * @return a Mono that fails with a UserException describing the invalid fields
+     */
+    @MessageExceptionHandler(MethodArgumentNotValidException.class)
+    public Mono<Void> handleValidationException(MethodArgumentNotValidException ex) {
+        if (ex.getBindingResult() == null) {
+            return Mono.error(new UserException("Validation error: " + ex.getMessage()));
+        }
+        return Mono.error(new UserException("Validation error: " + ex.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .sorted()
+                .collect(Collectors.joining(", "))));
+    }
+}
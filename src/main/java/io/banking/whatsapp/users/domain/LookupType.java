@@ -0,0 +1,42 @@
+package io.banking.whatsapp.users.domain;
+
+/**
+ * Enumeration of the unique keys a user can be looked up by.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+public enum LookupType {
+
+    /**
+     * Lookup by the MongoDB document ID.
+     */
+    ID("id"),
+
+    /**
+     * Lookup by DNI (National ID).
+     */
+    DNI("dni"),
+
+    /**
+     * Lookup by phone number in E.164 form.
+     */
+    PHONE_NUMBER("phoneNumber");
+
+    private final String field;
+
+    LookupType(String field) {
+        this.field = field;
+    }
+
+    /**
+     * Returns the name of the User property holding this key.
+     *
+     * @return the property name used in queries
+     */
+    public String getField() {
+        return field;
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
@@ -13,6 +15,7 @@ import java.time.LocalDateTime;
  * Entity class representing a user in the banking WhatsApp system.
  * This class maps to the 'users' collection in MongoDB and includes
  * all necessary fields to track user information and status.
+ * The compound index on status and ID serves keyset pagination filtered by status.
  *
  * @author Marcelo Alejandro Albarracín
  * @email marceloalejandro.albarracin@gmail.com
@@ -24,6 +27,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "users")
+@CompoundIndex(name = "status_id", def = "{'status': 1, '_id': 1}")
 public class User {
     
     /**
@@ -90,6 +94,14 @@ public class User {
      */
     private LocalDateTime updatedAt;
 
+    /**
+     * Optimistic locking version of the user.
+     * Set to 0 on insert and incremented by every write; exposed to clients as the ETag.
+     * Documents written before versioning have no version and are treated as version 0.
+     */
+    @Version
+    private Long version;
+
     /**
      * Creates a test instance of User with default values.
      * This method should only be used for testing purposes.
@@ -107,7 +119,8 @@ public class User {
             "12345678",
             "ACTIVE",
             LocalDateTime.now(),
-            LocalDateTime.now()
+            LocalDateTime.now(),
+            0L
         );
     }
 }
\ No newline at end of file
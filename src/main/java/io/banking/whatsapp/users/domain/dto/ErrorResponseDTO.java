@@ -18,7 +18,7 @@ import java.time.LocalDateTime;
  * @since 2024-03-19
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(description = "Error Response Data")
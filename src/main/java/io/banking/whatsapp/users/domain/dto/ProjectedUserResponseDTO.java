@@ -0,0 +1,17 @@
+package io.banking.whatsapp.users.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * User response returned for a {@code fields} projection.
+ * Holds only the requested fields; the others are null and, unlike in a full
+ * {@link UserResponseDTO}, omitted from the serialized response.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProjectedUserResponseDTO extends UserResponseDTO {
+}
@@ -0,0 +1,27 @@
+package io.banking.whatsapp.users.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+import java.util.List;
+
+/**
+ * Data Transfer Object for bulk user deletion requests.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Data
+@Schema(description = "Bulk User Deletion Request Data")
+public class UserBulkDeleteRequestDTO {
+
+    /**
+     * The IDs of the users to delete.
+     * Must contain at least one ID.
+     */
+    @Schema(description = "User IDs to delete", example = "[\"123e4567-e89b-12d3-a456-426614174000\"]")
+    @NotEmpty(message = "At least one ID is required")
+    private List<String> ids;
+}
@@ -0,0 +1,36 @@
+package io.banking.whatsapp.users.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for bulk user deletion responses.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bulk User Deletion Result Data")
+public class UserBulkDeleteResultDTO {
+
+    /**
+     * Number of distinct IDs in the request.
+     */
+    @Schema(description = "Number of distinct IDs requested", example = "3")
+    private int requested;
+
+    /**
+     * Number of users actually deleted.
+     * Lower than requested when some IDs did not match any user.
+     */
+    @Schema(description = "Number of users deleted", example = "2")
+    private long deleted;
+}
@@ -0,0 +1,56 @@
+package io.banking.whatsapp.users.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a single entry of a bulk user creation response.
+ * One result is streamed back per submitted user, so a failing row is reported
+ * without aborting the rest of the batch.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bulk User Creation Result Data")
+public class UserBulkResultDTO {
+
+    /**
+     * Zero-based position of the user in the submitted array or stream.
+     */
+    @Schema(description = "Position of the user in the request", example = "0")
+    private long index;
+
+    /**
+     * Whether the user was created.
+     */
+    @Schema(description = "Whether the user was created", example = "true")
+    private boolean success;
+
+    /**
+     * The error code when the user was not created.
+     * One of VALIDATION_ERROR, USER_ERROR, DUPLICATE_KEY or WRITE_ERROR.
+     */
+    @Schema(description = "Error code, null on success", example = "DUPLICATE_KEY")
+    private String code;
+
+    /**
+     * The error message when the user was not created.
+     */
+    @Schema(description = "Error message, null on success")
+    private String message;
+
+    /**
+     * The created user, or null when the user was not created.
+     */
+    @Schema(description = "Created user data, null on failure")
+    private UserResponseDTO user;
+}
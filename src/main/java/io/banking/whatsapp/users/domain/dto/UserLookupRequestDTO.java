@@ -0,0 +1,38 @@
+package io.banking.whatsapp.users.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import java.util.List;
+
+/**
+ * Data Transfer Object for batch user lookup requests.
+ * Any combination of IDs, DNIs and phone numbers can be resolved in a single request.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Data
+@Schema(description = "Batch User Lookup Request Data")
+public class UserLookupRequestDTO {
+
+    /**
+     * The user IDs to resolve.
+     */
+    @Schema(description = "User IDs to resolve", example = "[\"123e4567-e89b-12d3-a456-426614174000\"]")
+    private List<String> ids;
+
+    /**
+     * The DNIs (National IDs) to resolve.
+     */
+    @Schema(description = "User DNIs to resolve", example = "[\"12345678\"]")
+    private List<String> dnis;
+
+    /**
+     * The phone numbers to resolve.
+     * Normalized to E.164 before the lookup.
+     */
+    @Schema(description = "User phone numbers to resolve", example = "[\"+1234567890\"]")
+    private List<String> phoneNumbers;
+}
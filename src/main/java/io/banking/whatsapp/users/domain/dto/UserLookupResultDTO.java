@@ -0,0 +1,50 @@
+package io.banking.whatsapp.users.domain.dto;
+
+import io.banking.whatsapp.users.domain.LookupType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a single entry of a batch user lookup response.
+ * One result is returned per requested key, in request order, with an explicit
+ * found flag so that missing users are reported instead of silently dropped.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Batch User Lookup Result Data")
+public class UserLookupResultDTO {
+
+    /**
+     * The kind of key that was looked up.
+     */
+    @Schema(description = "Key type", example = "DNI")
+    private LookupType type;
+
+    /**
+     * The key exactly as it was sent in the request.
+     */
+    @Schema(description = "Requested key", example = "12345678")
+    private String key;
+
+    /**
+     * Whether a user was found for the key.
+     */
+    @Schema(description = "Whether a user was found", example = "true")
+    private boolean found;
+
+    /**
+     * The user found for the key, or null when not found.
+     */
+    @Schema(description = "User data, null when not found")
+    private UserResponseDTO user;
+}
@@ -0,0 +1,39 @@
+package io.banking.whatsapp.users.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a page of users.
+ * Pages are keyset based: the next page is requested with the opaque cursor
+ * returned here, so deep pages cost the same as the first one.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "User Page Data")
+public class UserPageDTO {
+
+    /**
+     * The users in this page, ordered by ID.
+     */
+    @Schema(description = "Users in this page")
+    private List<UserResponseDTO> items;
+
+    /**
+     * Opaque cursor to pass as {@code cursor} to fetch the next page.
+     * Null when this is the last page.
+     */
+    @Schema(description = "Cursor for the next page, null on the last page", example = "NjVmOWMxYTJiM2M0ZDVlNmY3YTg5YjBj")
+    private String nextCursor;
+}
@@ -0,0 +1,69 @@
+package io.banking.whatsapp.users.domain.dto;
+
+import io.banking.whatsapp.users.utils.PhoneNumbers;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+/**
+ * Data Transfer Object for partial user update requests.
+ * Every field is optional; only the fields present in the request are written.
+ * Fields that are present must not be blank.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Data
+@Schema(description = "User Partial Update Request Data")
+public class UserPatchRequestDTO {
+
+    private static final String NOT_BLANK = "^(?!\\s*$).+";
+
+    /**
+     * The user's new first name.
+     */
+    @Schema(description = "User's first name", example = "John")
+    @Pattern(regexp = NOT_BLANK, message = "First name must not be blank")
+    private String firstName;
+
+    /**
+     * The user's new last name.
+     */
+    @Schema(description = "User's last name", example = "Doe")
+    @Pattern(regexp = NOT_BLANK, message = "Last name must not be blank")
+    private String lastName;
+
+    /**
+     * The user's new email address.
+     * Must be a valid email format.
+     */
+    @Schema(description = "User's email address", example = "john.doe@example.com")
+    @Pattern(regexp = NOT_BLANK, message = "Email must not be blank")
+    @Email(message = "Invalid email format")
+    private String email;
+
+    /**
+     * The user's new phone number.
+     * Normalized to E.164 before it is stored.
+     */
+    @Schema(description = "User's phone number", example = "+1234567890")
+    @Pattern(regexp = PhoneNumbers.ACCEPTED, message = "Invalid phone number format")
+    private String phoneNumber;
+
+    /**
+     * The user's new DNI (National ID).
+     */
+    @Schema(description = "User's DNI (National ID)", example = "12345678")
+    @Pattern(regexp = NOT_BLANK, message = "DNI must not be blank")
+    private String dni;
+
+    /**
+     * The user's new status.
+     */
+    @Schema(description = "User status", example = "INACTIVE", allowableValues = {"ACTIVE", "INACTIVE", "BLOCKED"})
+    @Pattern(regexp = "ACTIVE|INACTIVE|BLOCKED", message = "Status must be one of ACTIVE, INACTIVE or BLOCKED")
+    private String status;
+}
@@ -1,8 +1,10 @@
 package io.banking.whatsapp.users.domain.dto;
 
+import io.banking.whatsapp.users.utils.PhoneNumbers;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 
 /**
@@ -47,11 +49,12 @@ public class UserRequestDTO {
     
     /**
      * The user's phone number.
-     * Must not be blank or null.
+     * Must not be blank or null, and must be a number PhoneNumbers can normalize to E.164.
      * Used for WhatsApp communication.
      */
     @Schema(description = "User's phone number", example = "+1234567890")
     @NotBlank(message = "Phone number is required")
+    @Pattern(regexp = PhoneNumbers.ACCEPTED, message = "Invalid phone number format")
     private String phoneNumber;
     
     /**
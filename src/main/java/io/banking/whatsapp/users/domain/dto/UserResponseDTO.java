@@ -1,6 +1,7 @@
 package io.banking.whatsapp.users.domain.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 import java.time.LocalDateTime;
@@ -9,6 +10,8 @@ import java.time.LocalDateTime;
  * Data Transfer Object for user response data.
  * This class represents the data structure returned by the API when querying user information.
  * It includes all user details along with system-managed fields like status and timestamps.
+ * Responses to a {@code fields} projection use {@link ProjectedUserResponseDTO} instead,
+ * which omits the fields that were not requested.
  *
  * @author Marcelo Alejandro Albarracín
  * @email marceloalejandro.albarracin@gmail.com
@@ -86,4 +89,13 @@ public class UserResponseDTO {
     @Schema(description = "Last update timestamp", example = "2024-02-15T10:30:00")
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime updatedAt;
-}
\ No newline at end of file
+
+    /**
+     * The strong entity tag of the user, derived from its ID and version.
+     * Sent in the ETag header rather than in the body, and kept when a
+     * {@code fields} projection clears the ID.
+     */
+    @Schema(hidden = true)
+    @JsonIgnore
+    private String etag;
+}
@@ -3,6 +3,8 @@ package io.banking.whatsapp.users.domain.mapper;
 import io.banking.whatsapp.users.domain.User;
 import io.banking.whatsapp.users.domain.dto.UserRequestDTO;
 import io.banking.whatsapp.users.domain.dto.UserResponseDTO;
+import io.banking.whatsapp.users.utils.ETags;
+import io.banking.whatsapp.users.utils.PhoneNumbers;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -15,14 +17,15 @@ import org.mapstruct.Mapping;
  * @version 1.0.0
  * @since 2024-03-19
  */
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", imports = {PhoneNumbers.class, ETags.class})
 public interface UserMapper {
 
     /**
      * Converts a UserRequestDTO to a User entity.
      * During conversion:
      * - Sets initial status as "ACTIVE"
-     * - Ignores id, createdAt, and updatedAt fields (managed by the system)
+     * - Ignores id, createdAt, updatedAt and version fields (managed by the system)
+     * - Normalizes phoneNumber to E.164
      * - Maps dni to documentNumber field
      *
      * @param dto the UserRequestDTO containing the user data
@@ -31,7 +34,9 @@ public interface UserMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "status", constant = "ACTIVE")
+    @Mapping(target = "phoneNumber", expression = "java(PhoneNumbers.normalize(dto.getPhoneNumber()))")
     User toEntity(UserRequestDTO dto);
 
     /**
@@ -39,9 +44,11 @@ public interface UserMapper {
      * During conversion:
      * - Maps documentNumber to dni field
      * - Includes all other fields from the User entity
+     * - Derives the ETag from the ID and version
      *
      * @param user the User entity to convert
      * @return a UserResponseDTO containing the user data
      */
+    @Mapping(target = "etag", expression = "java(ETags.of(user.getId(), user.getVersion()))")
     UserResponseDTO toDto(User user);
 }
\ No newline at end of file
@@ -1,8 +1,8 @@
 package io.banking.whatsapp.users.exception;
 
 import io.banking.whatsapp.users.domain.dto.ErrorResponseDTO;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.bind.support.WebExchangeBindException;
@@ -12,6 +12,8 @@ import java.time.LocalDateTime;
  * Global exception handler for the banking WhatsApp users service.
  * This class provides centralized exception handling across all controllers
  * and converts exceptions into standardized API responses.
+ * Each error code has a pre-built response template holding its status and code;
+ * handlers copy it and fill in the message, request path and timestamp.
  *
  * @author Marcelo Alejandro Albarracín
  * @email marceloalejandro.albarracin@gmail.com
@@ -21,22 +23,52 @@ import java.time.LocalDateTime;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final ErrorResponseDTO NOT_FOUND = template(404, "USER_NOT_FOUND");
+    private static final ErrorResponseDTO PRECONDITION_FAILED = template(412, "PRECONDITION_FAILED");
+    private static final ErrorResponseDTO USER_ERROR = template(400, "USER_ERROR");
+    private static final ErrorResponseDTO VALIDATION_ERROR = template(400, "VALIDATION_ERROR");
+
+    /**
+     * Handles NotFoundException instances.
+     * Converts not-found outcomes into a standardized error response
+     * with NOT_FOUND (404) status.
+     *
+     * @param ex the NotFoundException that was thrown
+     * @param request the request that failed
+     * @return ResponseEntity containing error details
+     */
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<ErrorResponseDTO> handleNotFoundException(NotFoundException ex, ServerHttpRequest request) {
+        return error(NOT_FOUND, ex.getMessage(), request);
+    }
+
+    /**
+     * Handles PreconditionFailedException instances.
+     * Converts failed conditional updates into a standardized error response
+     * with PRECONDITION_FAILED (412) status.
+     *
+     * @param ex the PreconditionFailedException that was thrown
+     * @param request the request that failed
+     * @return ResponseEntity containing error details
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePreconditionFailedException(PreconditionFailedException ex,
+                                                                              ServerHttpRequest request) {
+        return error(PRECONDITION_FAILED, ex.getMessage(), request);
+    }
+
     /**
      * Handles UserException instances.
      * Converts user-related exceptions into a standardized error response
      * with BAD_REQUEST (400) status.
      *
      * @param ex the UserException that was thrown
+     * @param request the request that failed
      * @return ResponseEntity containing error details
      */
     @ExceptionHandler(UserException.class)
-    public ResponseEntity<ErrorResponseDTO> handleUserException(UserException ex) {
-        ErrorResponseDTO error = ErrorResponseDTO.builder()
-                .message(ex.getMessage())
-                .code("USER_ERROR")
-                .timestamp(LocalDateTime.now())
-                .build();
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    public ResponseEntity<ErrorResponseDTO> handleUserException(UserException ex, ServerHttpRequest request) {
+        return error(USER_ERROR, ex.getMessage(), request);
     }
 
     /**
@@ -45,15 +77,29 @@ public class GlobalExceptionHandler {
      * with BAD_REQUEST (400) status.
      *
      * @param ex the WebExchangeBindException that was thrown during validation
+     * @param request the request that failed
      * @return ResponseEntity containing validation error details
      */
     @ExceptionHandler(WebExchangeBindException.class)
-    public ResponseEntity<ErrorResponseDTO> handleValidationException(WebExchangeBindException ex) {
-        ErrorResponseDTO error = ErrorResponseDTO.builder()
-                .message("Validation error: " + ex.getMessage())
-                .code("VALIDATION_ERROR")
+    public ResponseEntity<ErrorResponseDTO> handleValidationException(WebExchangeBindException ex,
+                                                                      ServerHttpRequest request) {
+        return error(VALIDATION_ERROR, "Validation error: " + ex.getMessage(), request);
+    }
+
+    private static ResponseEntity<ErrorResponseDTO> error(ErrorResponseDTO template, String message,
+                                                          ServerHttpRequest request) {
+        ErrorResponseDTO error = template.toBuilder()
+                .message(message)
+                .path(request.getPath().value())
                 .timestamp(LocalDateTime.now())
                 .build();
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        return ResponseEntity.status(template.getStatus()).body(error);
+    }
+
+    private static ErrorResponseDTO template(int status, String code) {
+        return ErrorResponseDTO.builder()
+                .status(status)
+                .code(code)
+                .build();
     }
-}
\ No newline at end of file
+}
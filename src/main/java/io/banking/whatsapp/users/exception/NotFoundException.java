@@ -7,6 +7,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
  * Exception thrown when a requested resource is not found in the system.
  * This exception is automatically mapped to an HTTP 404 (Not Found) response.
  * Used primarily for user-related resources that cannot be found by their identifiers.
+ * Not-found is an expected outcome, so the exception is created without a stack trace:
+ * the message identifies the missing key, and filling in the trace would dominate its cost.
  *
  * @author Marcelo Alejandro Albarracín
  * @email marceloalejandro.albarracin@gmail.com
@@ -23,6 +25,6 @@ public class NotFoundException extends RuntimeException {
      *               (e.g., "User not found with ID: 123")
      */
     public NotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package io.banking.whatsapp.users.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a conditional request's precondition does not hold.
+ * This exception is automatically mapped to an HTTP 412 (Precondition Failed) response.
+ * Used when an {@code If-Match} update names a version of the user that is no longer current.
+ * A failed precondition is an expected outcome, so the exception is created without a stack trace.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * Constructs a new PreconditionFailedException with the specified detail message.
+     *
+     * @param message the detail message explaining which precondition failed
+     */
+    public PreconditionFailedException(String message) {
+        super(message, null, false, false);
+    }
+}
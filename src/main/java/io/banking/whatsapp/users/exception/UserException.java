@@ -5,6 +5,7 @@ package io.banking.whatsapp.users.exception;
  * This exception is used to indicate various user operation failures such as
  * validation errors, business rule violations, or other user-specific issues.
  * It is handled by the GlobalExceptionHandler and mapped to an HTTP 400 (Bad Request) response.
+ * As it reports invalid input rather than a fault, it is created without a stack trace.
  *
  * @author Marcelo Alejandro Albarracín
  * @email marceloalejandro.albarracin@gmail.com
@@ -22,6 +23,6 @@ public class UserException extends RuntimeException {
      *               "Invalid phone number format")
      */
     public UserException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package io.banking.whatsapp.users.metrics;
+
+import io.banking.whatsapp.users.exception.NotFoundException;
+import io.banking.whatsapp.users.exception.UserException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aspect that times every UserService method.
+ * Each call is recorded in the {@code users.service} timer, tagged with the method name
+ * and its outcome ({@code success}, {@code not_found}, {@code user_error}, {@code error}
+ * or {@code cancelled}), so the timer counts double as per-outcome counters.
+ * Reactive results are timed from subscription until they terminate, not from assembly.
+ * Timers are registered once per method and outcome and reused, keeping the registry
+ * lookup off the per-call path.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class UserServiceMetrics {
+
+    /**
+     * Name of the timer recorded for every service call.
+     */
+    public static final String TIMER = "users.service";
+
+    private final MeterRegistry registry;
+    private final Map<String, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Wraps a service call so that its returned Mono or Flux is timed.
+     *
+     * @param joinPoint the intercepted service call
+     * @return the call's result, instrumented when it is a Mono or Flux
+     * @throws Throwable if the service method itself throws
+     */
+    @Around("execution(* io.banking.whatsapp.users.service.UserService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        Object result = joinPoint.proceed();
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                Timer.Sample sample = Timer.start(registry);
+                return mono
+                        .doOnSuccess(value -> stop(sample, method, "success"))
+                        .doOnError(error -> stop(sample, method, outcome(error)))
+                        .doOnCancel(() -> stop(sample, method, "cancelled"));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                Timer.Sample sample = Timer.start(registry);
+                return flux
+                        .doOnComplete(() -> stop(sample, method, "success"))
+                        .doOnError(error -> stop(sample, method, outcome(error)))
+                        .doOnCancel(() -> stop(sample, method, "cancelled"));
+            });
+        }
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, String method, String outcome) {
+        sample.stop(timers.computeIfAbsent(method, m -> new ConcurrentHashMap<>())
+                .computeIfAbsent(outcome, o -> Timer.builder(TIMER)
+                        .description("Latency of UserService calls")
+                        .tag("method", method)
+                        .tag("outcome", o)
+                        .register(registry)));
+    }
+
+    private static String outcome(Throwable error) {
+        if (error instanceof NotFoundException) {
+            return "not_found";
+        }
+        if (error instanceof UserException) {
+            return "user_error";
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,87 @@
+package io.banking.whatsapp.users.migration;
+
+import com.mongodb.client.result.UpdateResult;
+import io.banking.whatsapp.users.domain.User;
+import io.banking.whatsapp.users.exception.UserException;
+import io.banking.whatsapp.users.utils.PhoneNumbers;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * One-off migration that rewrites stored phone numbers to canonical E.164.
+ * Only documents whose phone number is not already in E.164 form are read,
+ * so the migration is idempotent and can be left enabled across restarts.
+ * Numbers that cannot be normalized, or that would collide with another user's
+ * number once normalized, are logged and left untouched. Rewritten users get a new
+ * version, so clients holding their ETag refetch them.
+ *
+ * Enabled with {@code users.migration.normalize-phone-numbers=true}.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "users.migration", name = "normalize-phone-numbers", havingValue = "true")
+public class PhoneNumberMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PhoneNumberMigration.class);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    /**
+     * Runs the migration at startup and blocks until every document has been processed.
+     *
+     * @param args the application arguments
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        Long migrated = migrate().block();
+        log.info("Phone number migration finished, {} users normalized", migrated);
+    }
+
+    /**
+     * Normalizes the phone number of every user not yet stored in E.164 form.
+     *
+     * @return a Mono containing the number of users updated
+     */
+    public Mono<Long> migrate() {
+        Query pending = Query.query(Criteria.where("phoneNumber").ne(null).not().regex(PhoneNumbers.E164));
+        pending.fields().include("phoneNumber");
+
+        return mongoTemplate.find(pending, User.class)
+                .concatMap(this::normalize)
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> normalize(User user) {
+        String normalized;
+        try {
+            normalized = PhoneNumbers.normalize(user.getPhoneNumber());
+        } catch (UserException ex) {
+            log.warn("Skipping user {}: {}", user.getId(), ex.getMessage());
+            return Mono.just(0L);
+        }
+
+        Query byId = Query.query(Criteria.where("_id").is(user.getId()));
+        return mongoTemplate.updateFirst(byId, Update.update("phoneNumber", normalized).inc("version", 1), User.class)
+                .map(UpdateResult::getModifiedCount)
+                .onErrorResume(ex -> {
+                    log.warn("Skipping user {}: could not set phone number {}: {}",
+                            user.getId(), normalized, ex.getMessage());
+                    return Mono.just(0L);
+                });
+    }
+}
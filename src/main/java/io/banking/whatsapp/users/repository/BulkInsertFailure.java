@@ -0,0 +1,46 @@
+package io.banking.whatsapp.users.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Describes a document that could not be written by an unordered bulk insert.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Data
+@AllArgsConstructor
+public class BulkInsertFailure {
+
+    /**
+     * MongoDB error code for a unique index violation.
+     */
+    public static final int DUPLICATE_KEY_CODE = 11000;
+
+    /**
+     * Position of the failed document in the list passed to the insert.
+     */
+    private int index;
+
+    /**
+     * The MongoDB error code.
+     */
+    private int code;
+
+    /**
+     * The MongoDB error message.
+     */
+    private String message;
+
+    /**
+     * Checks whether the failure was caused by a unique index violation.
+     *
+     * @return true if the document collided with an existing email, phone number or DNI
+     */
+    public boolean isDuplicateKey() {
+        return code == DUPLICATE_KEY_CODE;
+    }
+}
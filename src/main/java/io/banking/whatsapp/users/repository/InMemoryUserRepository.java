@@ -0,0 +1,564 @@
+package io.banking.whatsapp.users.repository;
+
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.User;
+import org.bson.types.ObjectId;
+import org.reactivestreams.Publisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * In-memory implementation of UserRepository for load tests and benchmarks without MongoDB.
+ * Users are kept in a concurrent map ordered by ID, with secondary indexes on email,
+ * phone number and DNI that enforce the same uniqueness as the unique indexes on User.
+ * As with those non-sparse MongoDB indexes, a null value counts as a key, so at most one
+ * user can lack each of these fields. {@code @Version} is honoured as Spring Data does:
+ * saving a user without a version inserts it at version 0, and saving one with a version
+ * only succeeds if it matches the stored user, failing with an
+ * {@link OptimisticLockingFailureException} otherwise. Updates increment the version.
+ *
+ * Reads are lock-free; writes are serialized so that uniqueness checks and index updates
+ * are atomic. Every user handed out is a copy, so callers cannot change stored state.
+ * Query by example is not supported: the example-based methods throw an
+ * {@link UnsupportedOperationException}, since the service never queries by example.
+ *
+ * Activated with the {@code in-memory} profile, which also disables the MongoDB auto-configuration.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryUserRepository implements UserRepository {
+
+    private static final String NULL_KEY = "\u0000null";
+
+    private static final Map<String, Field> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("id", new Field(User::getId, (user, value) -> user.setId((String) value)));
+        FIELDS.put("firstName", new Field(User::getFirstName, (user, value) -> user.setFirstName((String) value)));
+        FIELDS.put("lastName", new Field(User::getLastName, (user, value) -> user.setLastName((String) value)));
+        FIELDS.put("email", new Field(User::getEmail, (user, value) -> user.setEmail((String) value)));
+        FIELDS.put("phoneNumber", new Field(User::getPhoneNumber, (user, value) -> user.setPhoneNumber((String) value)));
+        FIELDS.put("dni", new Field(User::getDni, (user, value) -> user.setDni((String) value)));
+        FIELDS.put("status", new Field(User::getStatus, (user, value) -> user.setStatus((String) value)));
+        FIELDS.put("createdAt", new Field(User::getCreatedAt, (user, value) -> user.setCreatedAt((LocalDateTime) value)));
+        FIELDS.put("updatedAt", new Field(User::getUpdatedAt, (user, value) -> user.setUpdatedAt((LocalDateTime) value)));
+        FIELDS.put("version", new Field(User::getVersion, (user, value) -> user.setVersion((Long) value)));
+    }
+
+    private final ConcurrentSkipListMap<String, User> usersById = new ConcurrentSkipListMap<>();
+    private final UniqueIndex emailIndex = new UniqueIndex("email", User::getEmail);
+    private final UniqueIndex phoneNumberIndex = new UniqueIndex("phoneNumber", User::getPhoneNumber);
+    private final UniqueIndex dniIndex = new UniqueIndex("dni", User::getDni);
+    private final List<UniqueIndex> indexes = List.of(emailIndex, phoneNumberIndex, dniIndex);
+    private final Object writeLock = new Object();
+
+    @Override
+    public <S extends User> Mono<S> save(S user) {
+        return Mono.fromCallable(() -> {
+            synchronized (writeLock) {
+                Long version = user.getVersion();
+                if (version == null) {
+                    if (user.getId() != null && usersById.containsKey(user.getId())) {
+                        throw duplicateKey("_id", user.getId());
+                    }
+                } else {
+                    User current = user.getId() != null ? usersById.get(user.getId()) : null;
+                    if (current == null || !version.equals(Objects.requireNonNullElse(current.getVersion(), 0L))) {
+                        throw new OptimisticLockingFailureException("Cannot save user " + user.getId()
+                                + " with version " + version + "; has it been modified meanwhile?");
+                    }
+                }
+                user.setVersion(version != null ? version + 1 : 0L);
+                try {
+                    write(user);
+                } catch (DuplicateKeyException ex) {
+                    user.setVersion(version);
+                    throw ex;
+                }
+                return user;
+            }
+        });
+    }
+
+    @Override
+    public <S extends User> Mono<S> insert(S user) {
+        return Mono.fromCallable(() -> {
+            if (user.getId() != null && usersById.containsKey(user.getId())) {
+                throw duplicateKey("_id", user.getId());
+            }
+            if (user.getVersion() == null) {
+                user.setVersion(0L);
+            }
+            write(user);
+            return user;
+        });
+    }
+
+    @Override
+    public <S extends User> Flux<S> insert(Iterable<S> users) {
+        return Flux.fromIterable(users).concatMap(this::insert);
+    }
+
+    @Override
+    public <S extends User> Flux<S> insert(Publisher<S> users) {
+        return Flux.from(users).concatMap(this::insert);
+    }
+
+    @Override
+    public <S extends User> Flux<S> saveAll(Iterable<S> users) {
+        return Flux.fromIterable(users).concatMap(this::save);
+    }
+
+    @Override
+    public <S extends User> Flux<S> saveAll(Publisher<S> users) {
+        return Flux.from(users).concatMap(this::save);
+    }
+
+    @Override
+    public Mono<User> findById(String id) {
+        return Mono.fromSupplier(() -> copy(usersById.get(id)));
+    }
+
+    @Override
+    public Mono<User> findById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(String id) {
+        return Mono.fromSupplier(() -> usersById.containsKey(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<User> findAll() {
+        return Flux.fromIterable(usersById.values()).map(InMemoryUserRepository::copy);
+    }
+
+    /**
+     * Returns every user in the given order. As in MongoDB, missing values sort before
+     * any other value, and users that compare equal stay in ID order.
+     *
+     * @param sort the order to return the users in
+     * @return a Flux containing every user, sorted
+     */
+    @Override
+    public Flux<User> findAll(Sort sort) {
+        if (sort.isUnsorted()) {
+            return findAll();
+        }
+        Comparator<User> comparator = comparator(sort);
+        return Flux.defer(() -> Flux.fromIterable(usersById.values().stream()
+                .sorted(comparator)
+                .map(InMemoryUserRepository::copy)
+                .toList()));
+    }
+
+    @Override
+    public <S extends User> Mono<S> findOne(Example<S> example) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends User> Flux<S> findAll(Example<S> example) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends User> Flux<S> findAll(Example<S> example, Sort sort) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends User> Mono<Long> count(Example<S> example) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends User> Mono<Boolean> exists(Example<S> example) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends User, R, P extends Publisher<R>> P findBy(
+            Example<S> example, Function<FluentQuery.ReactiveFluentQuery<S>, P> queryFunction) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public Flux<User> findAllById(Iterable<String> ids) {
+        return Flux.fromIterable(ids)
+                .mapNotNull(usersById::get)
+                .map(InMemoryUserRepository::copy);
+    }
+
+    @Override
+    public Flux<User> findAllById(Publisher<String> ids) {
+        return Flux.from(ids).collectList().flatMapMany(this::findAllById);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return Mono.fromSupplier(() -> (long) usersById.size());
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return deleteUserById(id).then();
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<String> id) {
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(User user) {
+        return deleteById(user.getId());
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends String> ids) {
+        return Flux.fromIterable(ids).concatMap(this::deleteById).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends User> users) {
+        return Flux.fromIterable(users).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends User> users) {
+        return Flux.from(users).concatMap(this::delete).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return Mono.fromRunnable(() -> {
+            synchronized (writeLock) {
+                usersById.clear();
+                indexes.forEach(UniqueIndex::clear);
+            }
+        });
+    }
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return Mono.fromSupplier(() -> copy(emailIndex.find(email)));
+    }
+
+    @Override
+    public Mono<User> findByPhoneNumber(String phoneNumber) {
+        return Mono.fromSupplier(() -> copy(phoneNumberIndex.find(phoneNumber)));
+    }
+
+    @Override
+    public Mono<User> findByDni(String dni) {
+        return Mono.fromSupplier(() -> copy(dniIndex.find(dni)));
+    }
+
+    @Override
+    public Flux<User> findByDniIn(Collection<String> dnis) {
+        return Flux.fromIterable(dnis)
+                .mapNotNull(dniIndex::find)
+                .map(InMemoryUserRepository::copy);
+    }
+
+    @Override
+    public Flux<User> findByPhoneNumberIn(Collection<String> phoneNumbers) {
+        return Flux.fromIterable(phoneNumbers)
+                .mapNotNull(phoneNumberIndex::find)
+                .map(InMemoryUserRepository::copy);
+    }
+
+    @Override
+    public Mono<Long> deleteUserById(String id) {
+        return Mono.fromSupplier(() -> remove(id) ? 1L : 0L);
+    }
+
+    @Override
+    public Mono<Long> deleteUsersByIdIn(Collection<String> ids) {
+        return Mono.fromSupplier(() -> ids.stream().filter(this::remove).count());
+    }
+
+    /**
+     * Inserts every user independently, like an unordered {@code insertMany}.
+     * Users that violate a unique index are reported with MongoDB's duplicate key code.
+     *
+     * @param users the users to insert
+     * @return a Flux containing one entry per user that could not be written
+     */
+    @Override
+    public Flux<BulkInsertFailure> insertAllUnordered(List<User> users) {
+        return Flux.defer(() -> {
+            List<BulkInsertFailure> failures = new ArrayList<>();
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                if (user.getId() == null) {
+                    user.setId(ObjectId.get().toHexString());
+                }
+                if (user.getVersion() == null) {
+                    user.setVersion(0L);
+                }
+                try {
+                    if (usersById.containsKey(user.getId())) {
+                        throw duplicateKey("_id", user.getId());
+                    }
+                    write(user);
+                } catch (DuplicateKeyException ex) {
+                    failures.add(new BulkInsertFailure(i, BulkInsertFailure.DUPLICATE_KEY_CODE, ex.getMessage()));
+                }
+            }
+            return Flux.fromIterable(failures);
+        });
+    }
+
+    @Override
+    public Flux<User> findPage(String status, String afterId, int limit, Set<String> fields) {
+        NavigableMap<String, User> candidates = afterId != null ? usersById.tailMap(afterId, false) : usersById;
+        return Flux.fromIterable(candidates.values())
+                .filter(user -> status == null || status.equals(user.getStatus()))
+                .take(limit)
+                .map(user -> project(user, fields, true));
+    }
+
+    @Override
+    public Flux<User> streamAll(String status, int cursorBatchSize, Set<String> fields) {
+        return Flux.fromIterable(usersById.values())
+                .filter(user -> status == null || status.equals(user.getStatus()))
+                .map(user -> project(user, fields, false));
+    }
+
+    @Override
+    public Mono<User> updateFields(String id, Map<String, Object> fields) {
+        return Mono.fromSupplier(() -> update(id, fields, null, null));
+    }
+
+    @Override
+    public Mono<User> updateFieldsIfChanged(String id, Map<String, Object> fields, LocalDateTime updatedAt) {
+        return Mono.fromSupplier(() -> update(id, fields, updatedAt, null));
+    }
+
+    @Override
+    public Mono<User> updateFieldsIfVersion(String id, Map<String, Object> fields, long version) {
+        return Mono.fromSupplier(() -> update(id, fields, null, version));
+    }
+
+    @Override
+    public Mono<User> findOneProjected(LookupType type, String key, Set<String> fields) {
+        return Mono.fromSupplier(() -> {
+            User user = switch (type) {
+                case ID -> usersById.get(key);
+                case DNI -> dniIndex.find(key);
+                case PHONE_NUMBER -> phoneNumberIndex.find(key);
+            };
+            return user != null ? project(user, fields, true) : null;
+        });
+    }
+
+    @Override
+    public Flux<String> streamKeys(LookupType type, int cursorBatchSize) {
+        return switch (type) {
+            case ID -> Flux.fromIterable(usersById.keySet());
+            case DNI -> dniIndex.keys();
+            case PHONE_NUMBER -> phoneNumberIndex.keys();
+        };
+    }
+
+    private void write(User user) {
+        synchronized (writeLock) {
+            if (user.getId() == null) {
+                user.setId(ObjectId.get().toHexString());
+            }
+            User previous = usersById.get(user.getId());
+            indexes.forEach(index -> index.check(user));
+            User stored = copy(user);
+            indexes.forEach(index -> index.replace(previous, stored));
+            usersById.put(stored.getId(), stored);
+        }
+    }
+
+    private User update(String id, Map<String, Object> fields, LocalDateTime updatedAt, Long version) {
+        synchronized (writeLock) {
+            User current = usersById.get(id);
+            if (current == null) {
+                return null;
+            }
+            if (version != null && !version.equals(Objects.requireNonNullElse(current.getVersion(), 0L))) {
+                return null;
+            }
+            if (updatedAt != null) {
+                boolean changed = fields.entrySet().stream()
+                        .anyMatch(field -> !Objects.equals(field(field.getKey()).getter().apply(current), field.getValue()));
+                if (!changed) {
+                    return null;
+                }
+            }
+            User updated = copy(current);
+            fields.forEach((name, value) -> field(name).setter().accept(updated, value));
+            if (updatedAt != null) {
+                updated.setUpdatedAt(updatedAt);
+            }
+            updated.setVersion(Objects.requireNonNullElse(current.getVersion(), 0L) + 1);
+            write(updated);
+            return copy(updated);
+        }
+    }
+
+    private boolean remove(String id) {
+        synchronized (writeLock) {
+            User removed = usersById.remove(id);
+            if (removed == null) {
+                return false;
+            }
+            indexes.forEach(index -> index.replace(removed, null));
+            return true;
+        }
+    }
+
+    private static User project(User user, Set<String> fields, boolean keepId) {
+        if (fields == null) {
+            return copy(user);
+        }
+        User projected = new User();
+        fields.forEach(name -> {
+            Field field = field(name);
+            field.setter().accept(projected, field.getter().apply(user));
+        });
+        if (keepId) {
+            projected.setId(user.getId());
+            projected.setVersion(user.getVersion());
+        }
+        return projected;
+    }
+
+    private static UnsupportedOperationException queryByExampleUnsupported() {
+        return new UnsupportedOperationException("Query by example is not supported by the in-memory repository");
+    }
+
+    private static Comparator<User> comparator(Sort sort) {
+        Comparator<User> comparator = (left, right) -> 0;
+        for (Sort.Order order : sort) {
+            Field field = field("_id".equals(order.getProperty()) ? "id" : order.getProperty());
+            boolean ignoreCase = order.isIgnoreCase();
+            Comparator<User> byField = Comparator.comparing(field.getter(),
+                    Comparator.nullsFirst((left, right) -> compareValues(left, right, ignoreCase)));
+            comparator = comparator.thenComparing(order.isAscending() ? byField : byField.reversed());
+        }
+        return comparator;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareValues(Object left, Object right, boolean ignoreCase) {
+        if (ignoreCase && left instanceof String leftText && right instanceof String rightText) {
+            return leftText.compareToIgnoreCase(rightText);
+        }
+        return ((Comparable<Object>) left).compareTo(right);
+    }
+
+    private static User copy(User user) {
+        if (user == null) {
+            return null;
+        }
+        User copy = new User();
+        FIELDS.values().forEach(field -> field.setter().accept(copy, field.getter().apply(user)));
+        return copy;
+    }
+
+    private static Field field(String name) {
+        Field field = FIELDS.get(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown user field: " + name);
+        }
+        return field;
+    }
+
+    private static DuplicateKeyException duplicateKey(String index, Object key) {
+        return new DuplicateKeyException("E11000 duplicate key error collection: users index: " + index
+                + " dup key: { " + index + ": \"" + key + "\" }");
+    }
+
+    private record Field(Function<User, Object> getter, BiConsumer<User, Object> setter) {
+    }
+
+    private final class UniqueIndex {
+
+        private final String name;
+        private final Function<User, String> keyExtractor;
+        private final Map<String, String> idsByKey = new ConcurrentHashMap<>();
+
+        private UniqueIndex(String name, Function<User, String> keyExtractor) {
+            this.name = name;
+            this.keyExtractor = keyExtractor;
+        }
+
+        private User find(String key) {
+            if (key == null) {
+                return null;
+            }
+            String id = idsByKey.get(key);
+            User user = id != null ? usersById.get(id) : null;
+            return user != null && key.equals(keyExtractor.apply(user)) ? user : null;
+        }
+
+        private void check(User user) {
+            String owner = idsByKey.get(keyOf(user));
+            if (owner != null && !owner.equals(user.getId())) {
+                throw duplicateKey(name, keyExtractor.apply(user));
+            }
+        }
+
+        private void replace(User previous, User current) {
+            if (previous != null) {
+                idsByKey.remove(keyOf(previous), previous.getId());
+            }
+            if (current != null) {
+                idsByKey.put(keyOf(current), current.getId());
+            }
+        }
+
+        private void clear() {
+            idsByKey.clear();
+        }
+
+        private Flux<String> keys() {
+            return Flux.fromIterable(idsByKey.keySet())
+                    .filter(key -> !NULL_KEY.equals(key));
+        }
+
+        private String keyOf(User user) {
+            String key = keyExtractor.apply(user);
+            return key != null ? key : NULL_KEY;
+        }
+    }
+}
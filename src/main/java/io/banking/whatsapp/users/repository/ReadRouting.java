@@ -0,0 +1,77 @@
+package io.banking.whatsapp.users.repository;
+
+import com.mongodb.ReadPreference;
+import io.banking.whatsapp.users.config.UserReadProperties;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-operation read preference routing for the user repository.
+ * Reads use the configured read preference unless the subscriber context pins them
+ * to the primary, which callers do for reads that must observe their own writes.
+ * The flag travels in the Reactor context, so it reaches the repository without
+ * changing any method signature.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+public final class ReadRouting {
+
+    private static final String PRIMARY_KEY = ReadRouting.class.getName() + ".primary";
+
+    private ReadRouting() {
+    }
+
+    /**
+     * Pins every repository read made by the given Mono to the primary.
+     *
+     * @param mono the Mono whose reads must go to the primary
+     * @param <T> the type of the element
+     * @return the same Mono, subscribed with the primary flag in its context
+     */
+    public static <T> Mono<T> onPrimary(Mono<T> mono) {
+        return mono.contextWrite(context -> context.put(PRIMARY_KEY, true));
+    }
+
+    /**
+     * Pins every repository read made by the given Flux to the primary.
+     *
+     * @param flux the Flux whose reads must go to the primary
+     * @param <T> the type of the elements
+     * @return the same Flux, subscribed with the primary flag in its context
+     */
+    public static <T> Flux<T> onPrimary(Flux<T> flux) {
+        return flux.contextWrite(context -> context.put(PRIMARY_KEY, true));
+    }
+
+    /**
+     * Returns the read preference to use for a read made under the given context.
+     *
+     * @param context the subscriber context of the read
+     * @param configured the configured read preference
+     * @return the primary if the context pins the read to it, otherwise the configured preference
+     */
+    public static ReadPreference resolve(ContextView context, ReadPreference configured) {
+        return context.getOrDefault(PRIMARY_KEY, false) ? ReadPreference.primary() : configured;
+    }
+
+    /**
+     * Builds the configured read preference.
+     *
+     * @param properties the read routing configuration
+     * @return the read preference with its maximum staleness, if any
+     * @throws IllegalArgumentException if the preference name is unknown or combined with an invalid staleness
+     */
+    public static ReadPreference readPreference(UserReadProperties properties) {
+        if (properties.getMaxStaleness() == null) {
+            return ReadPreference.valueOf(properties.getPreference());
+        }
+        return ReadPreference.valueOf(properties.getPreference(), List.of(),
+                properties.getMaxStaleness().toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -2,21 +2,45 @@ package io.banking.whatsapp.users.repository;
 
 import io.banking.whatsapp.users.domain.User;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import java.util.Collection;
 
 /**
  * Reactive MongoDB repository for User entities.
  * This interface provides reactive CRUD operations for User entities and
  * additional custom query methods for finding users by unique identifiers.
- * Extends ReactiveMongoRepository to inherit standard reactive MongoDB operations.
+ * Extends ReactiveMongoRepository to inherit standard reactive MongoDB operations,
+ * and UserRepositoryCustom for bulk operations and routed reads implemented on ReactiveMongoTemplate.
  *
  * @author Marcelo Alejandro Albarracín
  * @email marceloalejandro.albarracin@gmail.com
  * @version 1.0.0
  * @since 2024-03-19
  */
-public interface UserRepository extends ReactiveMongoRepository<User, String> {
-    
+public interface UserRepository extends ReactiveMongoRepository<User, String>, UserRepositoryCustom {
+
+    /**
+     * Finds a user by its ID, routed through {@link ReadRouting} by the custom implementation.
+     * Redeclared to resolve the overlap between the CRUD and custom declarations.
+     *
+     * @param id the ID to search for
+     * @return a Mono containing the user if found, or an empty Mono if not found
+     */
+    @Override
+    Mono<User> findById(String id);
+
+    /**
+     * Finds every user whose ID is in the given collection, routed through {@link ReadRouting}
+     * by the custom implementation.
+     * Redeclared to resolve the overlap between the CRUD and custom declarations.
+     *
+     * @param ids the IDs to search for
+     * @return a Flux containing the users found, in no particular order
+     */
+    @Override
+    Flux<User> findAllById(Iterable<String> ids);
+
     /**
      * Finds a user by their email address.
      * Email addresses are unique in the system.
@@ -27,20 +51,19 @@ public interface UserRepository extends ReactiveMongoRepository<User, String> {
     Mono<User> findByEmail(String email);
 
     /**
-     * Finds a user by their phone number.
-     * Phone numbers are unique in the system and are used for WhatsApp communication.
+     * Deletes the user with the given ID and reports how many documents were removed.
+     * Lets callers detect a missing user from the delete itself, without reading it first.
      *
-     * @param phoneNumber the phone number to search for
-     * @return a Mono containing the user if found, or an empty Mono if not found
+     * @param id the ID of the user to delete
+     * @return a Mono containing the number of deleted users, 0 or 1
      */
-    Mono<User> findByPhoneNumber(String phoneNumber);
+    Mono<Long> deleteUserById(String id);
 
     /**
-     * Finds a user by their DNI (National ID).
-     * DNI numbers are unique in the system and serve as a business identifier.
+     * Deletes every user whose ID is in the given collection using a single {@code $in} delete.
      *
-     * @param dni the DNI number to search for
-     * @return a Mono containing the user if found, or an empty Mono if not found
+     * @param ids the IDs of the users to delete
+     * @return a Mono containing the number of deleted users
      */
-    Mono<User> findByDni(String dni);
-}
\ No newline at end of file
+    Mono<Long> deleteUsersByIdIn(Collection<String> ids);
+}
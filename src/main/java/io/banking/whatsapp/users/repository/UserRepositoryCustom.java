@@ -0,0 +1,168 @@
+package io.banking.whatsapp.users.repository;
+
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.User;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Custom repository operations for User entities that cannot be expressed
+ * as derived queries and are implemented directly on ReactiveMongoTemplate.
+ * Reads go to the configured read preference unless pinned to the primary
+ * with {@link ReadRouting#onPrimary(Mono)}; their declarations here take
+ * precedence over the derived and CRUD implementations.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Finds a user by its ID.
+     *
+     * @param id the ID to search for
+     * @return a Mono containing the user if found, or an empty Mono if not found
+     */
+    Mono<User> findById(String id);
+
+    /**
+     * Finds a user by their phone number.
+     * Phone numbers are unique in the system and are used for WhatsApp communication.
+     *
+     * @param phoneNumber the phone number to search for
+     * @return a Mono containing the user if found, or an empty Mono if not found
+     */
+    Mono<User> findByPhoneNumber(String phoneNumber);
+
+    /**
+     * Finds a user by their DNI (National ID).
+     * DNI numbers are unique in the system and serve as a business identifier.
+     *
+     * @param dni the DNI number to search for
+     * @return a Mono containing the user if found, or an empty Mono if not found
+     */
+    Mono<User> findByDni(String dni);
+
+    /**
+     * Finds every user whose ID is in the given collection using a single {@code $in} query.
+     *
+     * @param ids the IDs to search for
+     * @return a Flux containing the users found, in no particular order
+     */
+    Flux<User> findAllById(Iterable<String> ids);
+
+    /**
+     * Finds every user whose DNI is in the given collection using a single {@code $in} query.
+     *
+     * @param dnis the DNI numbers to search for
+     * @return a Flux containing the users found, in no particular order
+     */
+    Flux<User> findByDniIn(Collection<String> dnis);
+
+    /**
+     * Finds every user whose phone number is in the given collection using a single {@code $in} query.
+     *
+     * @param phoneNumbers the phone numbers to search for, in E.164 form
+     * @return a Flux containing the users found, in no particular order
+     */
+    Flux<User> findByPhoneNumberIn(Collection<String> phoneNumbers);
+
+    /**
+     * Inserts all users with a single unordered {@code insertMany}.
+     * A failing document does not prevent the remaining documents from being written.
+     * IDs are assigned to the given users before the insert.
+     *
+     * @param users the users to insert
+     * @return a Flux containing one entry per document that could not be written
+     */
+    Flux<BulkInsertFailure> insertAllUnordered(List<User> users);
+
+    /**
+     * Finds one page of users ordered by ID, starting after the given ID.
+     * Served by an index range scan on {@code _id}, or on {@code status, _id} when a status is given,
+     * so the cost of a page does not depend on how deep it is.
+     *
+     * @param status the status to filter by, or null for every status
+     * @param afterId the ID of the last user of the previous page, or null for the first page
+     * @param limit the maximum number of users to return
+     * @param fields the fields to read, or null for every field; the ID is always read
+     * @return a Flux containing at most {@code limit} users ordered by ID
+     */
+    Flux<User> findPage(String status, String afterId, int limit, Set<String> fields);
+
+    /**
+     * Streams every user, optionally filtered by status, ordered by ID.
+     * Documents are fetched lazily from the cursor in batches of the given size.
+     *
+     * @param status the status to filter by, or null for every status
+     * @param cursorBatchSize the number of documents MongoDB returns per cursor batch
+     * @param fields the fields to read, or null for every field
+     * @return a Flux emitting every matching user
+     */
+    Flux<User> streamAll(String status, int cursorBatchSize, Set<String> fields);
+
+    /**
+     * Sets the given fields on a user with a single atomic {@code findAndModify}.
+     * Fields that are not in the map, such as {@code createdAt}, are left untouched.
+     * The version is incremented.
+     *
+     * @param id the ID of the user to update
+     * @param fields the field names and values to {@code $set}
+     * @return a Mono containing the updated user, or an empty Mono if no user has the given ID
+     */
+    Mono<User> updateFields(String id, Map<String, Object> fields);
+
+    /**
+     * Sets the given fields on a user only if at least one of them differs from the stored value.
+     * The change check and the write are a single atomic {@code findAndModify}, and the
+     * modification timestamp is only stamped when something actually changes.
+     *
+     * @param id the ID of the user to update
+     * @param fields the field names and values to {@code $set}
+     * @param updatedAt the modification timestamp to set when the user changes
+     * @return a Mono containing the updated user, or an empty Mono if no user has the given ID
+     *         or the stored values already match
+     */
+    Mono<User> updateFieldsIfChanged(String id, Map<String, Object> fields, LocalDateTime updatedAt);
+
+    /**
+     * Sets the given fields on a user only if it is still at the given version.
+     * The version check and the write are a single atomic {@code findAndModify}, so a
+     * conditional update needs no read beforehand. A user stored without a version
+     * is treated as version 0.
+     *
+     * @param id the ID of the user to update
+     * @param fields the field names and values to {@code $set}
+     * @param version the version the user must have
+     * @return a Mono containing the updated user, or an empty Mono if no user has the given ID
+     *         or the user is at another version
+     */
+    Mono<User> updateFieldsIfVersion(String id, Map<String, Object> fields, long version);
+
+    /**
+     * Finds a user by one of its unique keys, reading only the requested fields.
+     *
+     * @param type the kind of key to search by
+     * @param key the key value
+     * @param fields the fields to read
+     * @return a Mono containing the partially populated user, or an empty Mono if not found
+     */
+    Mono<User> findOneProjected(LookupType type, String key, Set<String> fields);
+
+    /**
+     * Streams every non-null value of the given unique key with an index-only scan.
+     * Only the index is read, so no document is fetched or decoded.
+     *
+     * @param type the kind of key to stream
+     * @param cursorBatchSize the number of keys MongoDB returns per cursor batch
+     * @return a Flux emitting every stored key, in index order
+     */
+    Flux<String> streamKeys(LookupType type, int cursorBatchSize);
+}
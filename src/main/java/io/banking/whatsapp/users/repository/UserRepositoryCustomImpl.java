@@ -0,0 +1,330 @@
+package io.banking.whatsapp.users.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.model.InsertManyOptions;
+import io.banking.whatsapp.users.config.UserReadProperties;
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.User;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ReactiveMongoTemplate based implementation of {@link UserRepositoryCustom}.
+ * Picked up by Spring Data as a fragment of {@link UserRepository}.
+ * Every read resolves its read preference through {@link ReadRouting} when it is subscribed.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ReadPreference readPreference;
+
+    /**
+     * Creates the repository fragment.
+     *
+     * @param mongoTemplate the template used to run the queries
+     * @param readProperties the read routing configuration
+     */
+    public UserRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate, UserReadProperties readProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.readPreference = ReadRouting.readPreference(readProperties);
+    }
+
+    /**
+     * Finds a user by its ID on the routed read preference.
+     *
+     * @param id the ID to search for
+     * @return a Mono containing the user if found, or an empty Mono if not found
+     */
+    @Override
+    public Mono<User> findById(String id) {
+        return findOne(Query.query(Criteria.where("id").is(id)));
+    }
+
+    /**
+     * Finds a user by their phone number on the routed read preference.
+     *
+     * @param phoneNumber the phone number to search for
+     * @return a Mono containing the user if found, or an empty Mono if not found
+     */
+    @Override
+    public Mono<User> findByPhoneNumber(String phoneNumber) {
+        return findOne(Query.query(Criteria.where("phoneNumber").is(phoneNumber)));
+    }
+
+    /**
+     * Finds a user by their DNI on the routed read preference.
+     *
+     * @param dni the DNI number to search for
+     * @return a Mono containing the user if found, or an empty Mono if not found
+     */
+    @Override
+    public Mono<User> findByDni(String dni) {
+        return findOne(Query.query(Criteria.where("dni").is(dni)));
+    }
+
+    /**
+     * Finds every user whose ID is in the given collection on the routed read preference.
+     *
+     * @param ids the IDs to search for
+     * @return a Flux containing the users found, in no particular order
+     */
+    @Override
+    public Flux<User> findAllById(Iterable<String> ids) {
+        List<String> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+        return find(Query.query(Criteria.where("id").in(idList)));
+    }
+
+    /**
+     * Finds every user whose DNI is in the given collection on the routed read preference.
+     *
+     * @param dnis the DNI numbers to search for
+     * @return a Flux containing the users found, in no particular order
+     */
+    @Override
+    public Flux<User> findByDniIn(Collection<String> dnis) {
+        return find(Query.query(Criteria.where("dni").in(dnis)));
+    }
+
+    /**
+     * Finds every user whose phone number is in the given collection on the routed read preference.
+     *
+     * @param phoneNumbers the phone numbers to search for, in E.164 form
+     * @return a Flux containing the users found, in no particular order
+     */
+    @Override
+    public Flux<User> findByPhoneNumberIn(Collection<String> phoneNumbers) {
+        return find(Query.query(Criteria.where("phoneNumber").in(phoneNumbers)));
+    }
+
+    /**
+     * Inserts all users with a single unordered {@code insertMany}.
+     * The users are converted with the template's converter so the stored documents
+     * are identical to the ones written by {@code save}.
+     *
+     * @param users the users to insert
+     * @return a Flux containing one entry per document that could not be written
+     */
+    @Override
+    public Flux<BulkInsertFailure> insertAllUnordered(List<User> users) {
+        if (users.isEmpty()) {
+            return Flux.empty();
+        }
+        List<Document> documents = users.stream()
+                .map(this::toDocument)
+                .toList();
+
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(User.class))
+                .flatMap(collection -> Mono.from(collection.insertMany(documents, new InsertManyOptions().ordered(false))))
+                .thenMany(Flux.<BulkInsertFailure>empty())
+                .onErrorResume(MongoBulkWriteException.class, ex -> Flux.fromIterable(ex.getWriteErrors())
+                        .map(error -> new BulkInsertFailure(error.getIndex(), error.getCode(), error.getMessage())));
+    }
+
+    /**
+     * Finds one page of users ordered by ID, starting after the given ID.
+     *
+     * @param status the status to filter by, or null for every status
+     * @param afterId the ID of the last user of the previous page, or null for the first page
+     * @param limit the maximum number of users to return
+     * @param fields the fields to read, or null for every field; the ID is always read
+     * @return a Flux containing at most {@code limit} users ordered by ID
+     */
+    @Override
+    public Flux<User> findPage(String status, String afterId, int limit, Set<String> fields) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(limit);
+        project(query, fields, true);
+        if (status != null) {
+            query.addCriteria(Criteria.where("status").is(status));
+        }
+        if (afterId != null) {
+            query.addCriteria(Criteria.where("id").gt(new ObjectId(afterId)));
+        }
+        return find(query);
+    }
+
+    /**
+     * Streams every user, optionally filtered by status, ordered by ID.
+     *
+     * @param status the status to filter by, or null for every status
+     * @param cursorBatchSize the number of documents MongoDB returns per cursor batch
+     * @param fields the fields to read, or null for every field
+     * @return a Flux emitting every matching user
+     */
+    @Override
+    public Flux<User> streamAll(String status, int cursorBatchSize, Set<String> fields) {
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "id"))
+                .cursorBatchSize(cursorBatchSize);
+        project(query, fields, false);
+        if (status != null) {
+            query.addCriteria(Criteria.where("status").is(status));
+        }
+        return find(query);
+    }
+
+    /**
+     * Sets the given fields on a user with a single atomic {@code findAndModify}
+     * and returns the document as it is after the update. The version is incremented.
+     *
+     * @param id the ID of the user to update
+     * @param fields the field names and values to {@code $set}
+     * @return a Mono containing the updated user, or an empty Mono if no user has the given ID
+     */
+    @Override
+    public Mono<User> updateFields(String id, Map<String, Object> fields) {
+        return mongoTemplate.findAndModify(
+                Query.query(Criteria.where("id").is(id)),
+                versionedUpdate(fields),
+                FindAndModifyOptions.options().returnNew(true),
+                User.class);
+    }
+
+    /**
+     * Sets the given fields on a user only if at least one of them differs from the stored value.
+     * Matches the user by ID and by an {@code $or} of {@code $ne} conditions on the fields,
+     * so a request that changes nothing matches no document and writes nothing.
+     *
+     * @param id the ID of the user to update
+     * @param fields the field names and values to {@code $set}
+     * @param updatedAt the modification timestamp to set when the user changes
+     * @return a Mono containing the updated user, or an empty Mono if no user has the given ID
+     *         or the stored values already match
+     */
+    @Override
+    public Mono<User> updateFieldsIfChanged(String id, Map<String, Object> fields, LocalDateTime updatedAt) {
+        Criteria[] changed = fields.entrySet().stream()
+                .map(field -> Criteria.where(field.getKey()).ne(field.getValue()))
+                .toArray(Criteria[]::new);
+        Query query = Query.query(Criteria.where("id").is(id).orOperator(changed));
+
+        Update update = versionedUpdate(fields).set("updatedAt", updatedAt);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), User.class);
+    }
+
+    /**
+     * Sets the given fields on a user only if it is still at the given version.
+     * Matches the user by ID and version, so a stale version matches no document and writes nothing.
+     * Version 0 also matches documents stored before versioning, which have no version field.
+     *
+     * @param id the ID of the user to update
+     * @param fields the field names and values to {@code $set}
+     * @param version the version the user must have
+     * @return a Mono containing the updated user, or an empty Mono if no user has the given ID
+     *         or the user is at another version
+     */
+    @Override
+    public Mono<User> updateFieldsIfVersion(String id, Map<String, Object> fields, long version) {
+        Criteria current = version == 0
+                ? Criteria.where("version").in(0L, null)
+                : Criteria.where("version").is(version);
+        return mongoTemplate.findAndModify(
+                Query.query(Criteria.where("id").is(id).andOperator(current)),
+                versionedUpdate(fields),
+                FindAndModifyOptions.options().returnNew(true),
+                User.class);
+    }
+
+    /**
+     * Finds a user by one of its unique keys, reading only the requested fields.
+     * Only the projected fields are transferred and decoded, plus the ID and version the ETag is built from.
+     *
+     * @param type the kind of key to search by
+     * @param key the key value
+     * @param fields the fields to read
+     * @return a Mono containing the partially populated user, or an empty Mono if not found
+     */
+    @Override
+    public Mono<User> findOneProjected(LookupType type, String key, Set<String> fields) {
+        Query query = Query.query(Criteria.where(type.getField()).is(key));
+        project(query, fields, true);
+        query.fields().include("version");
+        return findOne(query);
+    }
+
+    /**
+     * Streams every non-null value of the given unique key.
+     * The query is hinted to the key's index and projects only the key, so MongoDB
+     * answers it as a covered query from the index alone.
+     *
+     * @param type the kind of key to stream
+     * @param cursorBatchSize the number of keys MongoDB returns per cursor batch
+     * @return a Flux emitting every stored key, in index order
+     */
+    @Override
+    public Flux<String> streamKeys(LookupType type, int cursorBatchSize) {
+        String field = type == LookupType.ID ? "_id" : type.getField();
+        Query query = new Query()
+                .withHint(new Document(field, 1))
+                .cursorBatchSize(cursorBatchSize);
+        query.fields().include(field);
+        if (type != LookupType.ID) {
+            query.fields().exclude("_id");
+        }
+        String collection = mongoTemplate.getCollectionName(User.class);
+        return Flux.deferContextual(context -> mongoTemplate.find(
+                        query.withReadPreference(ReadRouting.resolve(context, readPreference)), Document.class, collection))
+                .mapNotNull(document -> document.get(field))
+                .map(Object::toString);
+    }
+
+    private Mono<User> findOne(Query query) {
+        return Mono.deferContextual(context ->
+                mongoTemplate.findOne(query.withReadPreference(ReadRouting.resolve(context, readPreference)), User.class));
+    }
+
+    private Flux<User> find(Query query) {
+        return Flux.deferContextual(context ->
+                mongoTemplate.find(query.withReadPreference(ReadRouting.resolve(context, readPreference)), User.class));
+    }
+
+    private void project(Query query, Set<String> fields, boolean keepId) {
+        if (fields == null) {
+            return;
+        }
+        fields.forEach(query.fields()::include);
+        if (!keepId && !fields.contains("id")) {
+            query.fields().exclude("id");
+        }
+    }
+
+    private static Update versionedUpdate(Map<String, Object> fields) {
+        Update update = new Update();
+        fields.forEach(update::set);
+        return update.inc("version", 1);
+    }
+
+    private Document toDocument(User user) {
+        if (user.getId() == null) {
+            user.setId(ObjectId.get().toHexString());
+        }
+        if (user.getVersion() == null) {
+            user.setVersion(0L);
+        }
+        Document document = new Document();
+        mongoTemplate.getConverter().write(user, document);
+        return document;
+    }
+}
@@ -1,9 +1,18 @@
 package io.banking.whatsapp.users.service;
 
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.dto.UserBulkDeleteRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserBulkDeleteResultDTO;
+import io.banking.whatsapp.users.domain.dto.UserBulkResultDTO;
+import io.banking.whatsapp.users.domain.dto.UserLookupRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserLookupResultDTO;
+import io.banking.whatsapp.users.domain.dto.UserPageDTO;
+import io.banking.whatsapp.users.domain.dto.UserPatchRequestDTO;
 import io.banking.whatsapp.users.domain.dto.UserRequestDTO;
 import io.banking.whatsapp.users.domain.dto.UserResponseDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import java.util.Set;
 
 /**
  * Service interface for user management operations.
@@ -25,6 +34,16 @@ public interface UserService {
      */
     Mono<UserResponseDTO> createUser(UserRequestDTO userRequest);
 
+    /**
+     * Creates many users from a stream of requests.
+     * Each request is validated and written independently, so a failing entry
+     * does not abort the rest of the stream.
+     *
+     * @param userRequests the users to create
+     * @return a Flux with one result per submitted user, in submission order
+     */
+    Flux<UserBulkResultDTO> createUsers(Flux<UserRequestDTO> userRequests);
+
     /**
      * Retrieves a user by their unique identifier.
      *
@@ -33,6 +52,15 @@ public interface UserService {
      */
     Mono<UserResponseDTO> getUserById(String id);
 
+    /**
+     * Retrieves a user by their unique identifier, returning only the requested fields.
+     *
+     * @param id the unique identifier of the user
+     * @param fields the fields to return, or null for every field
+     * @return a Mono containing the user's data if found, or an error if not found
+     */
+    Mono<UserResponseDTO> getUserById(String id, Set<String> fields);
+
     /**
      * Retrieves a user by their DNI (National ID).
      *
@@ -42,11 +70,69 @@ public interface UserService {
     Mono<UserResponseDTO> getUserByDni(String dni);
 
     /**
-     * Retrieves all users in the system.
+     * Retrieves a user by their DNI (National ID), returning only the requested fields.
      *
+     * @param dni the DNI number to search for
+     * @param fields the fields to return, or null for every field
+     * @return a Mono containing the user's data if found, or an error if not found
+     */
+    Mono<UserResponseDTO> getUserByDni(String dni, Set<String> fields);
+
+    /**
+     * Retrieves a user by their phone number.
+     * The phone number is normalized to E.164 before the lookup.
+     *
+     * @param phoneNumber the phone number to search for
+     * @return a Mono containing the user's data if found, or an error if not found
+     */
+    Mono<UserResponseDTO> getUserByPhoneNumber(String phoneNumber);
+
+    /**
+     * Retrieves a user by their phone number, returning only the requested fields.
+     *
+     * @param phoneNumber the phone number to search for
+     * @param fields the fields to return, or null for every field
+     * @return a Mono containing the user's data if found, or an error if not found
+     */
+    Mono<UserResponseDTO> getUserByPhoneNumber(String phoneNumber, Set<String> fields);
+
+    /**
+     * Returns the ETag of a user if it is cached, without querying the database.
+     * Used to answer conditional GETs whose ETag is still current.
+     *
+     * @param type the kind of key
+     * @param key the key value
+     * @return a Mono containing the ETag, or an empty Mono if the user is not cached
+     */
+    Mono<String> getCachedETag(LookupType type, String key);
+
+    /**
+     * Resolves many users by ID, DNI or phone number in one call.
+     *
+     * @param request DTO containing the keys to resolve
+     * @return a Flux with one result per requested key, in request order
+     */
+    Flux<UserLookupResultDTO> lookupUsers(UserLookupRequestDTO request);
+
+    /**
+     * Retrieves all users in the system as a stream.
+     *
+     * @param status the status to filter by, or null for every status
+     * @param fields the fields to return, or null for every field
      * @return a Flux containing all users' data
      */
-    Flux<UserResponseDTO> getAllUsers();
+    Flux<UserResponseDTO> getAllUsers(String status, Set<String> fields);
+
+    /**
+     * Retrieves one page of users ordered by ID.
+     *
+     * @param size the requested page size, or null for the default size
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param status the status to filter by, or null for every status
+     * @param fields the fields to return, or null for every field
+     * @return a Mono containing the page and the cursor for the next one
+     */
+    Mono<UserPageDTO> getUsers(Integer size, String cursor, String status, Set<String> fields);
 
     /**
      * Updates an existing user's information.
@@ -57,6 +143,26 @@ public interface UserService {
      */
     Mono<UserResponseDTO> updateUser(String id, UserRequestDTO userRequest);
 
+    /**
+     * Updates an existing user's information only if it is still at the given version.
+     *
+     * @param id the unique identifier of the user to update
+     * @param userRequest DTO containing the new user information
+     * @param version the version the client last read, taken from its If-Match ETag
+     * @return a Mono containing the updated user's data, or an error if the user does not exist
+     *         or is at another version
+     */
+    Mono<UserResponseDTO> updateUser(String id, UserRequestDTO userRequest, long version);
+
+    /**
+     * Partially updates a user, writing only the fields present in the request.
+     *
+     * @param id the unique identifier of the user to update
+     * @param patchRequest DTO containing the fields to change
+     * @return a Mono containing the user's data after the update, or an error if not found
+     */
+    Mono<UserResponseDTO> patchUser(String id, UserPatchRequestDTO patchRequest);
+
     /**
      * Deletes a user by their ID.
      *
@@ -65,4 +171,12 @@ public interface UserService {
      * @throws NotFoundException if the user is not found
      */
     Mono<Void> deleteUser(String id);
-}
\ No newline at end of file
+
+    /**
+     * Deletes many users by ID in one call.
+     *
+     * @param request DTO containing the IDs of the users to delete
+     * @return a Mono containing how many users were requested and actually deleted
+     */
+    Mono<UserBulkDeleteResultDTO> deleteUsers(UserBulkDeleteRequestDTO request);
+}
@@ -1,22 +1,65 @@
 package io.banking.whatsapp.users.service.impl;
 
+import io.banking.whatsapp.users.cache.RecentWrites;
+import io.banking.whatsapp.users.cache.UserBloomFilter;
+import io.banking.whatsapp.users.cache.UserCache;
+import io.banking.whatsapp.users.cache.UserLookupBatcher;
+import io.banking.whatsapp.users.cache.UserLookupCoalescer;
+import io.banking.whatsapp.users.config.UserBatchProperties;
+import io.banking.whatsapp.users.config.UserExportProperties;
+import io.banking.whatsapp.users.config.UserPaginationProperties;
+import io.banking.whatsapp.users.domain.LookupType;
 import io.banking.whatsapp.users.domain.User;
+import io.banking.whatsapp.users.domain.dto.UserBulkDeleteRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserBulkDeleteResultDTO;
+import io.banking.whatsapp.users.domain.dto.UserBulkResultDTO;
+import io.banking.whatsapp.users.domain.dto.UserLookupRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserLookupResultDTO;
+import io.banking.whatsapp.users.domain.dto.UserPageDTO;
+import io.banking.whatsapp.users.domain.dto.UserPatchRequestDTO;
 import io.banking.whatsapp.users.domain.dto.UserRequestDTO;
 import io.banking.whatsapp.users.domain.dto.UserResponseDTO;
 import io.banking.whatsapp.users.domain.mapper.UserMapper;
+import io.banking.whatsapp.users.repository.BulkInsertFailure;
+import io.banking.whatsapp.users.repository.ReadRouting;
 import io.banking.whatsapp.users.repository.UserRepository;
 import io.banking.whatsapp.users.service.UserService;
 import io.banking.whatsapp.users.exception.NotFoundException;
+import io.banking.whatsapp.users.exception.PreconditionFailedException;
+import io.banking.whatsapp.users.exception.UserException;
+import io.banking.whatsapp.users.utils.ETags;
+import io.banking.whatsapp.users.utils.PageCursors;
+import io.banking.whatsapp.users.utils.PhoneNumbers;
+import io.banking.whatsapp.users.utils.UserFields;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Implementation of the UserService interface.
  * This service provides the business logic for user management operations
  * including creation, retrieval, update, and deletion of users.
+ * Reads use the configured read preference, except reads of users this instance
+ * has just written, which are pinned to the primary so clients see their own writes.
+ * Lookups by DNI or phone number that the Bloom filters rule out fail without a query.
  *
  * @author Marcelo Alejandro Albarracín
  * @email marceloalejandro.albarracin@gmail.com
@@ -28,22 +71,57 @@ import java.time.LocalDateTime;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserCache userCache;
+    private final UserLookupCoalescer lookupCoalescer;
+    private final UserLookupBatcher lookupBatcher;
+    private final RecentWrites recentWrites;
+    private final UserBloomFilter bloomFilter;
+    private final UserBatchProperties batchProperties;
+    private final UserPaginationProperties paginationProperties;
+    private final UserExportProperties exportProperties;
+    private final Validator validator;
 
     /**
      * Creates a new user in the system.
-     * Converts the request DTO to an entity and saves it to the database.
+     * Converts the request DTO to an entity, normalizing the phone number to E.164,
+     * and saves it to the database. The saved user is added to the cache, replacing any
+     * not-found entry for its keys, and its reads are pinned to the primary for the
+     * read-your-writes window.
      *
      * @param userRequest the user data for creation
      * @return a Mono containing the created user's data
      */
     @Override
     public Mono<UserResponseDTO> createUser(UserRequestDTO userRequest) {
-        return userRepository.save(userMapper.toEntity(userRequest))
+        return Mono.fromSupplier(() -> userMapper.toEntity(userRequest))
+                .flatMap(userRepository::save)
+                .doOnNext(userCache::put)
+                .doOnNext(recentWrites::record)
+                .doOnNext(bloomFilter::put)
                 .map(userMapper::toDto);
     }
 
+    /**
+     * Creates many users from a stream of requests.
+     * Requests are grouped into chunks of {@code users.batch.insert-chunk-size}. Within a chunk,
+     * each request is validated and mapped, and the valid ones are written with a single unordered
+     * {@code insertMany}, so invalid or duplicate entries are reported without affecting the others.
+     *
+     * @param userRequests the users to create
+     * @return a Flux with one result per submitted user, in submission order
+     */
+    @Override
+    public Flux<UserBulkResultDTO> createUsers(Flux<UserRequestDTO> userRequests) {
+        return userRequests.index()
+                .buffer(batchProperties.getInsertChunkSize())
+                .concatMap(this::insertChunk);
+    }
+
     /**
      * Retrieves a user by their ID.
+     * Served from the cache when possible, falling back to the database on a miss;
+     * concurrent misses for the same key share a single query, and a key found missing
+     * is answered as not found without a query for {@code users.cache.negative-ttl}.
      * Throws NotFoundException if the user is not found.
      *
      * @param id the ID of the user to retrieve
@@ -52,13 +130,36 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public Mono<UserResponseDTO> getUserById(String id) {
-        return userRepository.findById(id)
+        return userCache.getById(id, key -> findUser(LookupType.ID, key, userRepository::findById))
                 .map(userMapper::toDto)
-                .switchIfEmpty(Mono.error(new NotFoundException("User not found with ID: " + id)));
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("User not found with ID: " + id)));
+    }
+
+    /**
+     * Retrieves a user by their ID, returning only the requested fields.
+     * A cached user is trimmed to the requested fields; otherwise only those fields are read
+     * from the database. Partially read users are never cached.
+     *
+     * @param id the ID of the user to retrieve
+     * @param fields the fields to return, or null for every field
+     * @return a Mono containing the user's data
+     * @throws NotFoundException if no user is found with the given ID
+     */
+    @Override
+    public Mono<UserResponseDTO> getUserById(String id, Set<String> fields) {
+        if (fields == null) {
+            return getUserById(id);
+        }
+        return findProjected(LookupType.ID, id, fields)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("User not found with ID: " + id)));
     }
 
     /**
      * Retrieves a user by their DNI (National ID).
+     * DNIs ruled out by the Bloom filter are reported as not found without a query.
+     * Otherwise served from the cache when possible, falling back to the database on a miss;
+     * concurrent misses for the same key share a single query, and a key found missing
+     * is answered as not found without a query for {@code users.cache.negative-ttl}.
      * Throws NotFoundException if the user is not found.
      *
      * @param dni the DNI of the user to retrieve
@@ -67,25 +168,178 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public Mono<UserResponseDTO> getUserByDni(String dni) {
-        return userRepository.findByDni(dni)
+        return filtered(LookupType.DNI, dni,
+                        () -> userCache.getByDni(dni, key -> findUser(LookupType.DNI, key, userRepository::findByDni)))
                 .map(userMapper::toDto)
-                .switchIfEmpty(Mono.error(new NotFoundException("User not found with DNI: " + dni)));
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("User not found with DNI: " + dni)));
     }
 
     /**
-     * Retrieves all users in the system.
+     * Retrieves a user by their DNI (National ID), returning only the requested fields.
+     * A cached user is trimmed to the requested fields; otherwise only those fields are read
+     * from the database. Partially read users are never cached.
      *
-     * @return a Flux containing all users' data
+     * @param dni the DNI of the user to retrieve
+     * @param fields the fields to return, or null for every field
+     * @return a Mono containing the user's data
+     * @throws NotFoundException if no user is found with the given DNI
      */
     @Override
-    public Flux<UserResponseDTO> getAllUsers() {
-        return userRepository.findAll()
+    public Mono<UserResponseDTO> getUserByDni(String dni, Set<String> fields) {
+        if (fields == null) {
+            return getUserByDni(dni);
+        }
+        return findProjected(LookupType.DNI, dni, fields)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("User not found with DNI: " + dni)));
+    }
+
+    /**
+     * Retrieves a user by their phone number.
+     * The phone number is normalized to E.164 so the lookup is an exact match on the unique index.
+     * Numbers ruled out by the Bloom filter are reported as not found without a query.
+     * Otherwise served from the cache when possible, falling back to the database on a miss;
+     * concurrent misses for the same key share a single query, and a key found missing
+     * is answered as not found without a query for {@code users.cache.negative-ttl}.
+     *
+     * @param phoneNumber the phone number of the user to retrieve
+     * @return a Mono containing the user's data
+     * @throws NotFoundException if no user is found with the given phone number
+     * @throws io.banking.whatsapp.users.exception.UserException if the phone number is not a valid number
+     */
+    @Override
+    public Mono<UserResponseDTO> getUserByPhoneNumber(String phoneNumber) {
+        return Mono.fromSupplier(() -> PhoneNumbers.normalize(phoneNumber))
+                .flatMap(normalized -> filtered(LookupType.PHONE_NUMBER, normalized,
+                                () -> userCache.getByPhoneNumber(normalized,
+                                        key -> findUser(LookupType.PHONE_NUMBER, key, userRepository::findByPhoneNumber)))
+                        .switchIfEmpty(Mono.error(() -> new NotFoundException("User not found with phone number: " + normalized))))
                 .map(userMapper::toDto);
     }
 
+    /**
+     * Retrieves a user by their phone number, returning only the requested fields.
+     * A cached user is trimmed to the requested fields; otherwise only those fields are read
+     * from the database. Partially read users are never cached.
+     *
+     * @param phoneNumber the phone number of the user to retrieve
+     * @param fields the fields to return, or null for every field
+     * @return a Mono containing the user's data
+     * @throws NotFoundException if no user is found with the given phone number
+     */
+    @Override
+    public Mono<UserResponseDTO> getUserByPhoneNumber(String phoneNumber, Set<String> fields) {
+        if (fields == null) {
+            return getUserByPhoneNumber(phoneNumber);
+        }
+        return Mono.fromSupplier(() -> PhoneNumbers.normalize(phoneNumber))
+                .flatMap(normalized -> findProjected(LookupType.PHONE_NUMBER, normalized, fields)
+                        .switchIfEmpty(Mono.error(() -> new NotFoundException("User not found with phone number: " + normalized))));
+    }
+
+    /**
+     * Returns the ETag of a user if it is cached, without querying the database.
+     * Phone numbers are normalized first; a number that cannot be normalized is never cached.
+     *
+     * @param type the kind of key
+     * @param key the key value
+     * @return a Mono containing the ETag, or an empty Mono if the user is not cached
+     */
+    @Override
+    public Mono<String> getCachedETag(LookupType type, String key) {
+        return Mono.fromSupplier(() -> {
+            String canonical = type == LookupType.PHONE_NUMBER ? normalizeOrNull(key) : key;
+            User cached = canonical != null ? userCache.peek(type, canonical) : null;
+            return cached != null ? ETags.of(cached.getId(), cached.getVersion()) : null;
+        });
+    }
+
+    /**
+     * Resolves many users by ID, DNI or phone number in one call.
+     * Each key type is resolved with chunked {@code $in} queries over its distinct keys,
+     * and the results are returned in request order: IDs first, then DNIs, then phone numbers.
+     * Keys with no matching user, including phone numbers that cannot be normalized,
+     * are reported with {@code found = false}.
+     *
+     * @param request the keys to resolve
+     * @return a Flux with one result per requested key
+     * @throws UserException if the request contains more keys than allowed
+     */
+    @Override
+    public Flux<UserLookupResultDTO> lookupUsers(UserLookupRequestDTO request) {
+        List<String> ids = Objects.requireNonNullElse(request.getIds(), List.of());
+        List<String> dnis = Objects.requireNonNullElse(request.getDnis(), List.of());
+        List<String> phoneNumbers = Objects.requireNonNullElse(request.getPhoneNumbers(), List.of());
+
+        int totalKeys = ids.size() + dnis.size() + phoneNumbers.size();
+        if (totalKeys > batchProperties.getMaxLookupKeys()) {
+            return Flux.error(new UserException("Batch lookup accepts at most "
+                    + batchProperties.getMaxLookupKeys() + " keys, got " + totalKeys));
+        }
+
+        return Flux.concat(
+                resolve(LookupType.ID, ids, Function.identity(), userRepository::findAllById, User::getId),
+                resolve(LookupType.DNI, dnis, Function.identity(), userRepository::findByDniIn, User::getDni),
+                resolve(LookupType.PHONE_NUMBER, phoneNumbers, this::normalizeOrNull,
+                        userRepository::findByPhoneNumberIn, User::getPhoneNumber));
+    }
+
+    /**
+     * Retrieves all users in the system as a stream.
+     * Users are read from a MongoDB cursor in batches of {@code users.export.cursor-batch-size}
+     * and requested at most {@code users.export.prefetch} ahead of the subscriber, so memory
+     * stays flat regardless of the collection size.
+     *
+     * @param status the status to filter by, or null for every status
+     * @param fields the fields to return, or null for every field
+     * @return a Flux containing all users' data
+     */
+    @Override
+    public Flux<UserResponseDTO> getAllUsers(String status, Set<String> fields) {
+        return userRepository.streamAll(normalizeStatus(status), exportProperties.getCursorBatchSize(), fields)
+                .limitRate(exportProperties.getPrefetch())
+                .map(user -> UserFields.project(userMapper.toDto(user), fields));
+    }
+
+    /**
+     * Retrieves one page of users ordered by ID using keyset pagination.
+     * One extra user is fetched to find out whether a next page exists, so no count query is needed.
+     * Page sizes above {@code users.pagination.max-size} are capped.
+     *
+     * @param size the requested page size, or null for the default size
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param status the status to filter by, or null for every status
+     * @param fields the fields to return, or null for every field
+     * @return a Mono containing the page and the cursor for the next one
+     * @throws UserException if the size is not positive or the cursor is malformed
+     */
+    @Override
+    public Mono<UserPageDTO> getUsers(Integer size, String cursor, String status, Set<String> fields) {
+        int pageSize = size != null ? Math.min(size, paginationProperties.getMaxSize()) : paginationProperties.getDefaultSize();
+        if (pageSize < 1) {
+            return Mono.error(new UserException("Page size must be greater than zero"));
+        }
+        String normalizedStatus = normalizeStatus(status);
+
+        return Mono.defer(() -> userRepository.findPage(normalizedStatus, PageCursors.decode(cursor), pageSize + 1, fields)
+                        .collectList())
+                .map(users -> {
+                    boolean hasNext = users.size() > pageSize;
+                    List<User> page = hasNext ? users.subList(0, pageSize) : users;
+                    return UserPageDTO.builder()
+                            .items(page.stream().map(user -> UserFields.project(userMapper.toDto(user), fields)).toList())
+                            .nextCursor(hasNext ? PageCursors.encode(page.get(pageSize - 1).getId()) : null)
+                            .build();
+                });
+    }
+
     /**
      * Updates an existing user's information.
-     * Preserves the original creation timestamp and updates the modification timestamp.
+     * The new values are written with a single atomic {@code findAndModify} that sets only the
+     * request fields, the status and the modification timestamp, so no read is needed beforehand.
+     * As when the whole document was replaced, the status is reset to ACTIVE and the creation
+     * timestamp is preserved. The phone number is normalized to E.164.
+     * The cached user is replaced with the updated document; cache entries for a previous DNI
+     * or phone number no longer match it and are dropped on their next lookup.
      *
      * @param id the ID of the user to update
      * @param userRequest the new user data
@@ -94,28 +348,282 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public Mono<UserResponseDTO> updateUser(String id, UserRequestDTO userRequest) {
-        return userRepository.findById(id)
-                .switchIfEmpty(Mono.error(new NotFoundException("User not found with ID: " + id)))
-                .flatMap(existingUser -> {
-                    User updatedUser = userMapper.toEntity(userRequest);
-                    updatedUser.setId(existingUser.getId());
-                    updatedUser.setCreatedAt(existingUser.getCreatedAt());
-                    updatedUser.setUpdatedAt(LocalDateTime.now());
-                    return userRepository.save(updatedUser);
-                })
+        return update(id, userRequest, fields -> userRepository.updateFields(id, fields),
+                () -> new NotFoundException("User not found with ID: " + id));
+    }
+
+    /**
+     * Updates an existing user only if it is still at the given version.
+     * The version is part of the single {@code findAndModify} filter, so a lost update is
+     * detected without reading the user first. A missing user and a stale version both
+     * fail the precondition, as HTTP specifies for {@code If-Match}.
+     *
+     * @param id the ID of the user to update
+     * @param userRequest the new user data
+     * @param version the version the user must have
+     * @return a Mono containing the updated user's data
+     * @throws PreconditionFailedException if no user has the given ID or the user is at another version
+     */
+    @Override
+    public Mono<UserResponseDTO> updateUser(String id, UserRequestDTO userRequest, long version) {
+        return update(id, userRequest, fields -> userRepository.updateFieldsIfVersion(id, fields, version),
+                () -> new PreconditionFailedException("User " + id + " does not exist or is not at version " + version));
+    }
+
+    /**
+     * Partially updates a user, writing only the fields present in the request.
+     * The fields are written with a single {@code findAndModify} that only matches when at least
+     * one of them differs from the stored value, so a request that changes nothing performs no
+     * write and leaves the modification timestamp untouched. In that case, or when the request
+     * is empty, the current user is returned, read from the primary. The phone number is normalized to E.164.
+     *
+     * @param id the ID of the user to update
+     * @param patchRequest the fields to change
+     * @return a Mono containing the user's data after the update
+     * @throws NotFoundException if no user is found with the given ID
+     */
+    @Override
+    public Mono<UserResponseDTO> patchUser(String id, UserPatchRequestDTO patchRequest) {
+        return Mono.fromSupplier(() -> toPatchFields(patchRequest))
+                .flatMap(fields -> fields.isEmpty()
+                        ? Mono.<User>empty()
+                        : userRepository.updateFieldsIfChanged(id, fields, LocalDateTime.now())
+                                .doOnNext(updatedUser -> {
+                                    userCache.evictById(id);
+                                    userCache.put(updatedUser);
+                                    recentWrites.record(updatedUser);
+                                    bloomFilter.put(updatedUser);
+                                }))
+                .switchIfEmpty(Mono.defer(() -> userCache.getById(id,
+                        key -> ReadRouting.onPrimary(userRepository.findById(key)))))
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("User not found with ID: " + id)))
                 .map(userMapper::toDto);
     }
 
     /**
      * Deletes a user from the system.
+     * The user is deleted directly and a missing user is detected from the deleted count,
+     * so the deletion is a single round trip. The cached user is evicted.
      *
      * @param id the ID of the user to delete
      * @return a Mono that completes when the deletion is done
+     * @throws NotFoundException if no user is found with the given ID
      */
     @Override
     public Mono<Void> deleteUser(String id) {
-        return userRepository.findById(id)
-            .switchIfEmpty(Mono.error(new NotFoundException("User not found with ID: " + id)))
-            .flatMap(user -> userRepository.deleteById(id));
+        return userRepository.deleteUserById(id)
+            .doOnNext(deleted -> userCache.evictById(id))
+            .filter(deleted -> deleted > 0)
+            .switchIfEmpty(Mono.error(() -> new NotFoundException("User not found with ID: " + id)))
+            .then();
+    }
+
+    /**
+     * Deletes many users by ID in one call.
+     * Distinct IDs are deleted with {@code $in} deletes in chunks of {@code users.batch.chunk-size}.
+     * IDs that match no user are ignored and show up as the difference between requested and deleted.
+     *
+     * @param request the IDs of the users to delete
+     * @return a Mono containing how many users were requested and actually deleted
+     * @throws UserException if the request contains more IDs than allowed
+     */
+    @Override
+    public Mono<UserBulkDeleteResultDTO> deleteUsers(UserBulkDeleteRequestDTO request) {
+        List<String> ids = Objects.requireNonNullElse(request.getIds(), List.<String>of()).stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (ids.size() > batchProperties.getMaxDeleteIds()) {
+            return Mono.error(new UserException("Bulk delete accepts at most "
+                    + batchProperties.getMaxDeleteIds() + " IDs, got " + ids.size()));
+        }
+
+        return Flux.fromIterable(ids)
+                .buffer(batchProperties.getChunkSize())
+                .concatMap(chunk -> userRepository.deleteUsersByIdIn(chunk)
+                        .doOnNext(deleted -> chunk.forEach(userCache::evictById)))
+                .reduce(0L, Long::sum)
+                .map(deleted -> UserBulkDeleteResultDTO.builder()
+                        .requested(ids.size())
+                        .deleted(deleted)
+                        .build());
+    }
+
+    private Mono<UserResponseDTO> update(String id, UserRequestDTO userRequest,
+                                         Function<Map<String, Object>, Mono<User>> writer,
+                                         Supplier<? extends Throwable> onMissing) {
+        return Mono.fromSupplier(() -> toUpdateFields(userMapper.toEntity(userRequest)))
+                .flatMap(writer)
+                .switchIfEmpty(Mono.error(onMissing))
+                .doOnNext(updatedUser -> {
+                    userCache.evictById(id);
+                    userCache.put(updatedUser);
+                    recentWrites.record(updatedUser);
+                    bloomFilter.put(updatedUser);
+                })
+                .map(userMapper::toDto);
+    }
+
+    private Mono<User> findUser(LookupType type, String key, Function<String, Mono<User>> finder) {
+        if (recentWrites.contains(type, key)) {
+            return ReadRouting.onPrimary(finder.apply(key));
+        }
+        return lookupCoalescer.load(type, key, k -> lookupBatcher.load(type, k, finder));
+    }
+
+    private Mono<UserResponseDTO> findProjected(LookupType type, String key, Set<String> fields) {
+        return filtered(type, key, () -> {
+                    User cached = userCache.peek(type, key);
+                    if (cached != null) {
+                        return Mono.just(cached);
+                    }
+                    return userCache.loadRecordingMiss(type, key, k -> {
+                        Mono<User> projected = userRepository.findOneProjected(type, k, fields);
+                        return recentWrites.contains(type, k) ? ReadRouting.onPrimary(projected) : projected;
+                    });
+                })
+                .map(user -> UserFields.project(userMapper.toDto(user), fields));
+    }
+
+    private Mono<User> filtered(LookupType type, String key, Supplier<Mono<User>> lookup) {
+        return Mono.defer(() -> bloomFilter.mightContain(type, key)
+                ? lookup.get().switchIfEmpty(Mono.fromRunnable(() -> bloomFilter.recordMiss(type)))
+                : Mono.empty());
+    }
+
+    private Flux<UserLookupResultDTO> resolve(LookupType type, List<String> keys,
+                                              Function<String, String> canonicalizer,
+                                              Function<Collection<String>, Flux<User>> finder,
+                                              Function<User, String> keyExtractor) {
+        if (keys.isEmpty()) {
+            return Flux.empty();
+        }
+        List<String> canonicalKeys = keys.stream().map(canonicalizer).toList();
+        LinkedHashSet<String> distinctKeys = canonicalKeys.stream()
+                .filter(Objects::nonNull)
+                .filter(key -> bloomFilter.mightContain(type, key))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        return Flux.fromIterable(distinctKeys)
+                .buffer(batchProperties.getChunkSize())
+                .concatMap(finder)
+                .collectMap(keyExtractor)
+                .flatMapIterable(found -> IntStream.range(0, keys.size())
+                        .mapToObj(i -> toLookupResult(type, keys.get(i), found.get(canonicalKeys.get(i))))
+                        .toList());
+    }
+
+    private UserLookupResultDTO toLookupResult(LookupType type, String key, User user) {
+        return UserLookupResultDTO.builder()
+                .type(type)
+                .key(key)
+                .found(user != null)
+                .user(user != null ? userMapper.toDto(user) : null)
+                .build();
+    }
+
+    private String normalizeOrNull(String phoneNumber) {
+        try {
+            return PhoneNumbers.normalize(phoneNumber);
+        } catch (UserException ex) {
+            return null;
+        }
+    }
+
+    private Flux<UserBulkResultDTO> insertChunk(List<Tuple2<Long, UserRequestDTO>> chunk) {
+        UserBulkResultDTO[] results = new UserBulkResultDTO[chunk.size()];
+        List<Integer> positions = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            long index = chunk.get(i).getT1();
+            UserRequestDTO userRequest = chunk.get(i).getT2();
+            Set<ConstraintViolation<UserRequestDTO>> violations = validator.validate(userRequest);
+            if (!violations.isEmpty()) {
+                results[i] = bulkFailure(index, "VALIDATION_ERROR", "Validation error: " + violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                continue;
+            }
+            try {
+                users.add(userMapper.toEntity(userRequest));
+                positions.add(i);
+            } catch (UserException ex) {
+                results[i] = bulkFailure(index, "USER_ERROR", ex.getMessage());
+            }
+        }
+
+        return userRepository.insertAllUnordered(users)
+                .doOnNext(failure -> {
+                    int position = positions.get(failure.getIndex());
+                    results[position] = bulkFailure(chunk.get(position).getT1(),
+                            failure.isDuplicateKey() ? "DUPLICATE_KEY" : "WRITE_ERROR", failure.getMessage());
+                })
+                .thenMany(Flux.defer(() -> {
+                    for (int i = 0; i < users.size(); i++) {
+                        int position = positions.get(i);
+                        if (results[position] == null) {
+                            userCache.evictMisses(users.get(i));
+                            recentWrites.record(users.get(i));
+                            bloomFilter.put(users.get(i));
+                            results[position] = UserBulkResultDTO.builder()
+                                    .index(chunk.get(position).getT1())
+                                    .success(true)
+                                    .user(userMapper.toDto(users.get(i)))
+                                    .build();
+                        }
+                    }
+                    return Flux.fromArray(results);
+                }));
+    }
+
+    private Map<String, Object> toUpdateFields(User user) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("firstName", user.getFirstName());
+        fields.put("lastName", user.getLastName());
+        fields.put("email", user.getEmail());
+        fields.put("phoneNumber", user.getPhoneNumber());
+        fields.put("dni", user.getDni());
+        // A full update resets the status, set to ACTIVE by the mapper, as replacing the document did.
+        fields.put("status", user.getStatus());
+        fields.put("updatedAt", LocalDateTime.now());
+        return fields;
+    }
+
+    private Map<String, Object> toPatchFields(UserPatchRequestDTO patchRequest) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        if (patchRequest.getFirstName() != null) {
+            fields.put("firstName", patchRequest.getFirstName());
+        }
+        if (patchRequest.getLastName() != null) {
+            fields.put("lastName", patchRequest.getLastName());
+        }
+        if (patchRequest.getEmail() != null) {
+            fields.put("email", patchRequest.getEmail());
+        }
+        if (patchRequest.getPhoneNumber() != null) {
+            fields.put("phoneNumber", PhoneNumbers.normalize(patchRequest.getPhoneNumber()));
+        }
+        if (patchRequest.getDni() != null) {
+            fields.put("dni", patchRequest.getDni());
+        }
+        if (patchRequest.getStatus() != null) {
+            fields.put("status", patchRequest.getStatus());
+        }
+        return fields;
+    }
+
+    private String normalizeStatus(String status) {
+        return status != null && !status.isBlank() ? status.trim().toUpperCase(Locale.ROOT) : null;
+    }
+
+    private UserBulkResultDTO bulkFailure(long index, String code, String message) {
+        return UserBulkResultDTO.builder()
+                .index(index)
+                .success(false)
+                .code(code)
+                .message(message)
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,129 @@
+package io.banking.whatsapp.users.utils;
+
+import io.banking.whatsapp.users.exception.PreconditionFailedException;
+import org.springframework.http.MediaType;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Utility class for the entity tags of users.
+ * A user's ETag is the strong tag {@code "<id>-<version>"}, so it changes on every write
+ * and never repeats for a user created again under the same DNI or phone number.
+ * Users stored before versioning have no version and are tagged as version 0.
+ * That tag names the full JSON body; a field subset or another body format is tagged
+ * {@code "<id>-<version>-<hash>"}, so each representation has its own strong tag, and
+ * {@code If-Match} accepts the tag of any representation of the expected version.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+public final class ETags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETags() {
+    }
+
+    /**
+     * Builds the ETag of a user.
+     *
+     * @param id the ID of the user
+     * @param version the version of the user, or null if it has none
+     * @return the quoted strong ETag, or null if the ID is unknown
+     */
+    public static String of(String id, Long version) {
+        if (id == null) {
+            return null;
+        }
+        return "\"" + id + "-" + (version != null ? version : 0L) + "\"";
+    }
+
+    /**
+     * Derives the ETag of one representation of a user from the ETag of its full JSON body.
+     * The suffix is a hash of the sorted field names and the media type, so it is the same on every instance.
+     *
+     * @param etag the ETag built by {@link #of(String, Long)}
+     * @param fields the fields in the body, or null for every field
+     * @param bodyType the media type of the body, or null for JSON
+     * @return the quoted strong ETag of the representation, or null if the ETag is unknown
+     */
+    public static String of(String etag, Set<String> fields, MediaType bodyType) {
+        MediaType type = bodyType != null ? bodyType : MediaType.APPLICATION_JSON;
+        if (etag == null || (fields == null && MediaType.APPLICATION_JSON.equalsTypeAndSubtype(type))) {
+            return etag;
+        }
+        String representation = (fields != null ? String.join(",", new TreeSet<>(fields)) : "*")
+                + ";" + type.getType() + "/" + type.getSubtype();
+        return etag.substring(0, etag.length() - 1) + "-" + Integer.toHexString(representation.hashCode()) + "\"";
+    }
+
+    /**
+     * Returns whether an {@code If-Match} header is the wildcard, which only holds if the user exists.
+     *
+     * @param ifMatch the raw header value
+     * @return true if the header is {@code *}
+     */
+    public static boolean isWildcard(String ifMatch) {
+        return ifMatch != null && ifMatch.trim().equals("*");
+    }
+
+    /**
+     * Evaluates an {@code If-None-Match} header against the current ETag, using weak comparison.
+     *
+     * @param ifNoneMatch the raw header value, possibly a comma-separated list or {@code *}
+     * @param etag the current ETag
+     * @return true if the client already holds the current representation
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") || strip(tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extracts the version an {@code If-Match} header expects the user to have.
+     * Only strong ETags of the given user are considered, whichever representation they name;
+     * the first one found is used. A wildcard imposes no version, but the caller must still
+     * fail the precondition if the user does not exist, see {@link #isWildcard(String)}.
+     *
+     * @param ifMatch the raw header value, possibly a comma-separated list or {@code *}
+     * @param id the ID of the user being updated
+     * @return the expected version, or null if the header is absent or {@code *}
+     * @throws PreconditionFailedException if no strong ETag in the header belongs to the user
+     */
+    public static Long version(String ifMatch, String id) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) {
+                return null;
+            }
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                String version = tag.substring(prefix.length(), tag.length() - 1);
+                int suffix = version.indexOf('-');
+                try {
+                    return Long.parseLong(suffix >= 0 ? version.substring(0, suffix) : version);
+                } catch (NumberFormatException ex) {
+                    // Not one of our tags; try the next one.
+                }
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current version of user " + id);
+    }
+
+    private static String strip(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+}
@@ -0,0 +1,54 @@
+package io.banking.whatsapp.users.utils;
+
+import io.banking.whatsapp.users.exception.UserException;
+import org.bson.types.ObjectId;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utility class for encoding and decoding the opaque cursors used by keyset pagination.
+ * A cursor wraps the ID of the last user of a page; clients must treat it as opaque.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+public final class PageCursors {
+
+    private PageCursors() {
+    }
+
+    /**
+     * Encodes the ID of the last user of a page as a cursor.
+     *
+     * @param lastId the ID of the last user returned
+     * @return the opaque cursor
+     */
+    public static String encode(String lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor back into the ID of the last user of the previous page.
+     *
+     * @param cursor the opaque cursor, may be null or blank for the first page
+     * @return the ID to continue after, or null for the first page
+     * @throws UserException if the cursor is malformed
+     */
+    public static String decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String lastId;
+        try {
+            lastId = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new UserException("Invalid page cursor: " + cursor);
+        }
+        if (!ObjectId.isValid(lastId)) {
+            throw new UserException("Invalid page cursor: " + cursor);
+        }
+        return lastId;
+    }
+}
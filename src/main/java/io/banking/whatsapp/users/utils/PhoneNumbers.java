@@ -0,0 +1,72 @@
+package io.banking.whatsapp.users.utils;
+
+import io.banking.whatsapp.users.exception.UserException;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class for normalizing phone numbers to canonical E.164 form.
+ * Phone numbers are stored in this form so that every lookup is a single
+ * exact match on the unique phoneNumber index.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+public final class PhoneNumbers {
+
+    /**
+     * Pattern matching a canonical E.164 number: a plus sign followed by up to 15 digits,
+     * the first of which is not zero.
+     */
+    public static final Pattern E164 = Pattern.compile("^\\+[1-9]\\d{1,14}$");
+
+    /**
+     * Regular expression matching exactly the inputs {@link #normalize(String)} accepts,
+     * for bean validation of request fields.
+     */
+    public static final String ACCEPTED = "^[\\s().\\-/]*(?:\\+|0[\\s().\\-/]*0)?[\\s().\\-/]*[1-9](?:[\\s().\\-/]*\\d){1,14}[\\s().\\-/]*$";
+
+    private static final Pattern FORMATTING = Pattern.compile("[\\s().\\-/]");
+
+    private PhoneNumbers() {
+    }
+
+    /**
+     * Normalizes a phone number to E.164.
+     * Formatting characters (spaces, dashes, dots, slashes and parentheses) are removed
+     * and a leading international "00" prefix is replaced by "+". A number of digits only
+     * is read as starting with its country code, as WhatsApp sends them (e.g.
+     * {@code 5491122334455}), and gets a "+"; a number with a national trunk prefix
+     * such as {@code 01122334455} is rejected.
+     *
+     * @param phoneNumber the phone number as supplied by the client
+     * @return the phone number in E.164 form, or null if the input is null
+     * @throws UserException if the result is not a valid E.164 number
+     */
+    public static String normalize(String phoneNumber) {
+        if (phoneNumber == null) {
+            return null;
+        }
+        String normalized = FORMATTING.matcher(phoneNumber.trim()).replaceAll("");
+        if (normalized.startsWith("00")) {
+            normalized = "+" + normalized.substring(2);
+        } else if (!normalized.startsWith("+")) {
+            normalized = "+" + normalized;
+        }
+        if (!isE164(normalized)) {
+            throw new UserException("Invalid phone number format: " + phoneNumber);
+        }
+        return normalized;
+    }
+
+    /**
+     * Checks whether a phone number is already in canonical E.164 form.
+     *
+     * @param phoneNumber the phone number to check
+     * @return true if the phone number is in E.164 form
+     */
+    public static boolean isE164(String phoneNumber) {
+        return phoneNumber != null && E164.matcher(phoneNumber).matches();
+    }
+}
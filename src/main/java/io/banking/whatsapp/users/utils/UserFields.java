@@ -0,0 +1,98 @@
+package io.banking.whatsapp.users.utils;
+
+import io.banking.whatsapp.users.domain.dto.ProjectedUserResponseDTO;
+import io.banking.whatsapp.users.domain.dto.UserResponseDTO;
+import io.banking.whatsapp.users.exception.UserException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for the {@code fields} query parameter used to request sparse user responses.
+ * A null field set means every field; otherwise only the listed fields are read from
+ * MongoDB and present in the response.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+public final class UserFields {
+
+    /**
+     * Names of the fields that can be requested.
+     */
+    public static final Set<String> SELECTABLE = Set.of(
+            "id", "firstName", "lastName", "email", "phoneNumber", "dni", "status", "createdAt", "updatedAt");
+
+    private UserFields() {
+    }
+
+    /**
+     * Parses a comma-separated list of field names.
+     *
+     * @param fields the raw parameter value, e.g. {@code "id,firstName,status"}
+     * @return the requested fields, or null if every field is requested
+     * @throws UserException if a field name is unknown
+     */
+    public static Set<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        for (String field : requested) {
+            if (!SELECTABLE.contains(field)) {
+                throw new UserException("Unknown field: " + field + ". Selectable fields are " + SELECTABLE);
+            }
+        }
+        return requested.isEmpty() ? null : requested;
+    }
+
+    /**
+     * Copies the requested fields of a response into a projected response,
+     * which omits the other fields when serialized. The ETag is always kept.
+     *
+     * @param user the full response
+     * @param fields the requested fields, or null for every field
+     * @return the projected response, or the same response if every field is requested
+     */
+    public static UserResponseDTO project(UserResponseDTO user, Set<String> fields) {
+        if (fields == null) {
+            return user;
+        }
+        ProjectedUserResponseDTO projected = new ProjectedUserResponseDTO();
+        projected.setEtag(user.getEtag());
+        if (fields.contains("id")) {
+            projected.setId(user.getId());
+        }
+        if (fields.contains("firstName")) {
+            projected.setFirstName(user.getFirstName());
+        }
+        if (fields.contains("lastName")) {
+            projected.setLastName(user.getLastName());
+        }
+        if (fields.contains("email")) {
+            projected.setEmail(user.getEmail());
+        }
+        if (fields.contains("phoneNumber")) {
+            projected.setPhoneNumber(user.getPhoneNumber());
+        }
+        if (fields.contains("dni")) {
+            projected.setDni(user.getDni());
+        }
+        if (fields.contains("status")) {
+            projected.setStatus(user.getStatus());
+        }
+        if (fields.contains("createdAt")) {
+            projected.setCreatedAt(user.getCreatedAt());
+        }
+        if (fields.contains("updatedAt")) {
+            projected.setUpdatedAt(user.getUpdatedAt());
+        }
+        return projected;
+    }
+}
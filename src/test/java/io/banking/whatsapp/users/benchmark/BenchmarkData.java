@@ -0,0 +1,32 @@
+package io.banking.whatsapp.users.benchmark;
+
+import io.banking.whatsapp.users.domain.dto.UserRequestDTO;
+
+/**
+ * Input data shared by the benchmarks.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates a valid create request with a formatted phone number, as clients send it.
+     *
+     * @return a valid UserRequestDTO
+     */
+    static UserRequestDTO request() {
+        UserRequestDTO request = new UserRequestDTO();
+        request.setFirstName("John");
+        request.setLastName("Doe");
+        request.setEmail("john.doe@example.com");
+        request.setPhoneNumber("+54 9 11 2233-4455");
+        request.setDni("12345678");
+        return request;
+    }
+}
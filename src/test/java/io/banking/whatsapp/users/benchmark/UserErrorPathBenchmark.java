@@ -0,0 +1,148 @@
+package io.banking.whatsapp.users.benchmark;
+
+import io.banking.whatsapp.users.cache.RecentWrites;
+import io.banking.whatsapp.users.cache.UserBloomFilter;
+import io.banking.whatsapp.users.cache.UserCache;
+import io.banking.whatsapp.users.cache.UserLookupBatcher;
+import io.banking.whatsapp.users.cache.UserLookupCoalescer;
+import io.banking.whatsapp.users.config.UserBatchProperties;
+import io.banking.whatsapp.users.config.UserBloomFilterProperties;
+import io.banking.whatsapp.users.config.UserCacheProperties;
+import io.banking.whatsapp.users.config.UserExportProperties;
+import io.banking.whatsapp.users.config.UserLookupProperties;
+import io.banking.whatsapp.users.config.UserPaginationProperties;
+import io.banking.whatsapp.users.config.UserReadProperties;
+import io.banking.whatsapp.users.domain.dto.ErrorResponseDTO;
+import io.banking.whatsapp.users.domain.mapper.UserMapperImpl;
+import io.banking.whatsapp.users.exception.GlobalExceptionHandler;
+import io.banking.whatsapp.users.exception.NotFoundException;
+import io.banking.whatsapp.users.repository.InMemoryUserRepository;
+import io.banking.whatsapp.users.service.impl.UserServiceImpl;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the 200 and 404 paths of a lookup by ID.
+ * Both paths go through the service over the in-memory repository, with the
+ * user cache, negative cache and Bloom filters disabled so every call reaches
+ * the repository. The 404 path also runs the exception handler, as WebFlux would.
+ * The cost of creating a stackless NotFoundException is measured against an
+ * exception that fills in its stack trace.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserErrorPathBenchmark {
+
+    private static final String MISSING_ID = "000000000000000000000000";
+
+    private ValidatorFactory validatorFactory;
+    private UserServiceImpl userService;
+    private GlobalExceptionHandler exceptionHandler;
+    private MockServerHttpRequest request;
+    private String existingId;
+
+    /**
+     * Creates the service over an in-memory repository and stores one user.
+     */
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        InMemoryUserRepository userRepository = new InMemoryUserRepository();
+        UserCacheProperties cacheProperties = new UserCacheProperties();
+        cacheProperties.setEnabled(false);
+        cacheProperties.setNegativeTtl(Duration.ZERO);
+        UserLookupProperties lookupProperties = new UserLookupProperties();
+        userService = new UserServiceImpl(userRepository, new UserMapperImpl(), new UserCache(cacheProperties),
+                new UserLookupCoalescer(lookupProperties), new UserLookupBatcher(userRepository, lookupProperties),
+                new RecentWrites(new UserReadProperties()),
+                new UserBloomFilter(userRepository, new UserBloomFilterProperties()),
+                new UserBatchProperties(), new UserPaginationProperties(), new UserExportProperties(),
+                validatorFactory.getValidator());
+        exceptionHandler = new GlobalExceptionHandler();
+        request = MockServerHttpRequest.get("/api/v1/users/" + MISSING_ID).build();
+        existingId = userService.createUser(BenchmarkData.request()).block().getId();
+    }
+
+    /**
+     * Closes the validator factory.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    /**
+     * Benchmarks a lookup of an existing user.
+     *
+     * @return the response entity
+     */
+    @Benchmark
+    public ResponseEntity<?> found() {
+        return lookup(existingId);
+    }
+
+    /**
+     * Benchmarks a lookup of a missing user, mapped to a 404 response by the exception handler.
+     *
+     * @return the response entity
+     */
+    @Benchmark
+    public ResponseEntity<?> notFound() {
+        return lookup(MISSING_ID);
+    }
+
+    /**
+     * Benchmarks creating a stackless NotFoundException.
+     *
+     * @return the exception
+     */
+    @Benchmark
+    public Exception stacklessException() {
+        return new NotFoundException("User not found with ID: " + MISSING_ID);
+    }
+
+    /**
+     * Benchmarks creating an exception that fills in its stack trace, for comparison.
+     *
+     * @return the exception
+     */
+    @Benchmark
+    public Exception stackTraceException() {
+        return new RuntimeException("User not found with ID: " + MISSING_ID);
+    }
+
+    private ResponseEntity<?> lookup(String id) {
+        return userService.getUserById(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(NotFoundException.class,
+                        ex -> Mono.<ResponseEntity<ErrorResponseDTO>>just(exceptionHandler.handleNotFoundException(ex, request)))
+                .block();
+    }
+}
@@ -0,0 +1,157 @@
+package io.banking.whatsapp.users.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.banking.whatsapp.users.config.JacksonConfig;
+import io.banking.whatsapp.users.domain.dto.UserRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserResponseDTO;
+import io.banking.whatsapp.users.domain.mapper.UserMapperImpl;
+import io.banking.whatsapp.users.utils.TestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for Jackson serialization of the user DTOs.
+ * Uses the ObjectMappers built by JacksonConfig, so the cost of the
+ * {@code @JsonFormat} LocalDateTime fields is included.
+ *
+ * Each benchmark runs once per body format (JSON, CBOR and Smile), on a single user and on a
+ * page of 50 users as list and batch responses return them. The encoded sizes of each format
+ * are printed during setup.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserJsonBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectWriter responseWriter;
+    private ObjectWriter pageWriter;
+    private ObjectReader requestReader;
+    private ObjectReader responseReader;
+    private ObjectReader pageReader;
+    private UserResponseDTO response;
+    private List<UserResponseDTO> page;
+    private byte[] requestBytes;
+    private byte[] responseBytes;
+    private byte[] pageBytes;
+
+    /**
+     * Creates the readers, the writers and the input objects for the selected format,
+     * and prints the encoded sizes.
+     *
+     * @throws IOException if the inputs cannot be serialized
+     */
+    @Setup
+    public void setUp() throws IOException {
+        JacksonConfig config = new JacksonConfig();
+        ObjectMapper objectMapper = switch (format) {
+            case "json" -> config.objectMapper();
+            case "cbor" -> config.cborObjectMapper();
+            case "smile" -> config.smileObjectMapper();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        TypeReference<List<UserResponseDTO>> pageType = new TypeReference<>() { };
+        responseWriter = objectMapper.writerFor(UserResponseDTO.class);
+        pageWriter = objectMapper.writerFor(pageType);
+        requestReader = objectMapper.readerFor(UserRequestDTO.class);
+        responseReader = objectMapper.readerFor(UserResponseDTO.class);
+        pageReader = objectMapper.readerFor(pageType);
+
+        UserMapperImpl mapper = new UserMapperImpl();
+        response = mapper.toDto(TestUtils.createTestUser("65f9c1a2b3c4d5e6f7a89b0c"));
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(mapper.toDto(TestUtils.createTestUser(String.format("65f9c1a2b3c4d5e6f7a8%04x", i))));
+        }
+        requestBytes = objectMapper.writeValueAsBytes(BenchmarkData.request());
+        responseBytes = responseWriter.writeValueAsBytes(response);
+        pageBytes = pageWriter.writeValueAsBytes(page);
+
+        System.out.printf("%n%s sizes: request %d B, response %d B, page of %d %d B%n",
+                format, requestBytes.length, responseBytes.length, PAGE_SIZE, pageBytes.length);
+    }
+
+    /**
+     * Benchmarks serializing a user response, including both timestamps.
+     *
+     * @return the serialized response
+     * @throws IOException if serialization fails
+     */
+    @Benchmark
+    public byte[] writeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    /**
+     * Benchmarks deserializing a user response, as clients do.
+     *
+     * @return the deserialized response
+     * @throws IOException if deserialization fails
+     */
+    @Benchmark
+    public UserResponseDTO readResponse() throws IOException {
+        return responseReader.readValue(responseBytes);
+    }
+
+    /**
+     * Benchmarks serializing a page of user responses.
+     *
+     * @return the serialized page
+     * @throws IOException if serialization fails
+     */
+    @Benchmark
+    public byte[] writePage() throws IOException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    /**
+     * Benchmarks deserializing a page of user responses.
+     *
+     * @return the deserialized page
+     * @throws IOException if deserialization fails
+     */
+    @Benchmark
+    public List<UserResponseDTO> readPage() throws IOException {
+        return pageReader.readValue(pageBytes);
+    }
+
+    /**
+     * Benchmarks deserializing a create request.
+     *
+     * @return the deserialized request
+     * @throws IOException if deserialization fails
+     */
+    @Benchmark
+    public UserRequestDTO readRequest() throws IOException {
+        return requestReader.readValue(requestBytes);
+    }
+}
@@ -0,0 +1,73 @@
+package io.banking.whatsapp.users.benchmark;
+
+import io.banking.whatsapp.users.domain.User;
+import io.banking.whatsapp.users.domain.dto.UserRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserResponseDTO;
+import io.banking.whatsapp.users.domain.mapper.UserMapper;
+import io.banking.whatsapp.users.domain.mapper.UserMapperImpl;
+import io.banking.whatsapp.users.utils.TestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for the MapStruct UserMapper.
+ * Measures the per-request cost of mapping a create request to an entity,
+ * including phone number normalization, and an entity to a response.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    private UserMapper userMapper;
+    private UserRequestDTO request;
+    private User user;
+
+    /**
+     * Creates the mapper and the input objects.
+     */
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapperImpl();
+        request = BenchmarkData.request();
+        user = TestUtils.createTestUser("65f9c1a2b3c4d5e6f7a89b0c");
+    }
+
+    /**
+     * Benchmarks mapping a create request to a User entity.
+     *
+     * @return the mapped entity
+     */
+    @Benchmark
+    public User toEntity() {
+        return userMapper.toEntity(request);
+    }
+
+    /**
+     * Benchmarks mapping a User entity to a response.
+     *
+     * @return the mapped response
+     */
+    @Benchmark
+    public UserResponseDTO toDto() {
+        return userMapper.toDto(user);
+    }
+}
@@ -0,0 +1,85 @@
+package io.banking.whatsapp.users.benchmark;
+
+import io.banking.whatsapp.users.domain.dto.UserRequestDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for Bean Validation of UserRequestDTO.
+ * Measures both a valid request and one that fails every constraint,
+ * since building violations is considerably more expensive than passing.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private UserRequestDTO valid;
+    private UserRequestDTO invalid;
+
+    /**
+     * Creates the validator and the input objects.
+     */
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        valid = BenchmarkData.request();
+        invalid = new UserRequestDTO();
+        invalid.setEmail("not-an-email");
+    }
+
+    /**
+     * Closes the validator factory.
+     */
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    /**
+     * Benchmarks validating a request that satisfies every constraint.
+     *
+     * @return the constraint violations, which are empty
+     */
+    @Benchmark
+    public Set<ConstraintViolation<UserRequestDTO>> validRequest() {
+        return validator.validate(valid);
+    }
+
+    /**
+     * Benchmarks validating a request that violates every constraint.
+     *
+     * @return the constraint violations
+     */
+    @Benchmark
+    public Set<ConstraintViolation<UserRequestDTO>> invalidRequest() {
+        return validator.validate(invalid);
+    }
+}
@@ -0,0 +1,57 @@
+package io.banking.whatsapp.users.cache;
+
+import org.junit.jupiter.api.Test;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BloomFilter.
+ * Contains unit tests for membership checks and the false positive estimate.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+class BloomFilterTest {
+
+    /**
+     * Tests that every added key is reported as possibly present.
+     */
+    @Test
+    void mightContain_NoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put(String.format("%08d", i)));
+
+        assertTrue(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain(String.format("%08d", i))));
+    }
+
+    /**
+     * Tests that the observed and estimated false positive rates stay close to the target at capacity.
+     */
+    @Test
+    void mightContain_FalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put(String.format("%08d", i)));
+
+        long falsePositives = IntStream.range(10_000, 110_000)
+                .filter(i -> filter.mightContain(String.format("%08d", i)))
+                .count();
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertEquals(0.01, filter.expectedFalsePositiveProbability(), 0.005);
+        assertEquals(10_000, filter.approximateKeyCount(), 500);
+    }
+
+    /**
+     * Tests that an empty filter rules out every key.
+     */
+    @Test
+    void mightContain_EmptyFilter() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+
+        assertFalse(filter.mightContain("12345678"));
+        assertEquals(0.0, filter.expectedFalsePositiveProbability());
+    }
+}
@@ -0,0 +1,58 @@
+package io.banking.whatsapp.users.cache;
+
+import io.banking.whatsapp.users.config.UserReadProperties;
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.User;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RecentWrites.
+ * Contains unit tests for tracking recently written users for read-your-writes.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+class RecentWritesTest {
+
+    private final User user = User.builder().id("1").dni("12345678").phoneNumber("+1234567890").build();
+
+    /**
+     * Tests that a written user is tracked under its ID, DNI and phone number.
+     */
+    @Test
+    void record_TracksEveryKey() {
+        UserReadProperties properties = new UserReadProperties();
+        properties.setPreference("nearest");
+        RecentWrites recentWrites = new RecentWrites(properties);
+
+        recentWrites.record(user);
+
+        assertTrue(recentWrites.contains(LookupType.ID, "1"));
+        assertTrue(recentWrites.contains(LookupType.DNI, "12345678"));
+        assertTrue(recentWrites.contains(LookupType.PHONE_NUMBER, "+1234567890"));
+        assertFalse(recentWrites.contains(LookupType.DNI, "1"));
+        assertFalse(recentWrites.contains(LookupType.ID, "2"));
+    }
+
+    /**
+     * Tests that nothing is tracked when reads go to the primary or the window is zero.
+     */
+    @Test
+    void record_DisabledWithoutSecondaryReads() {
+        RecentWrites primaryReads = new RecentWrites(new UserReadProperties());
+        primaryReads.record(user);
+        assertFalse(primaryReads.contains(LookupType.ID, "1"));
+
+        UserReadProperties properties = new UserReadProperties();
+        properties.setPreference("nearest");
+        properties.setReadYourWritesWindow(Duration.ZERO);
+        RecentWrites noWindow = new RecentWrites(properties);
+        noWindow.record(user);
+        assertFalse(noWindow.contains(LookupType.ID, "1"));
+    }
+}
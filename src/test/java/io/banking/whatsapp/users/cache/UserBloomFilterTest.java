@@ -0,0 +1,107 @@
+package io.banking.whatsapp.users.cache;
+
+import io.banking.whatsapp.users.config.UserBloomFilterProperties;
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.User;
+import io.banking.whatsapp.users.repository.InMemoryUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for UserBloomFilter.
+ * Contains unit tests for building the filters from the stored keys and keeping them current.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+class UserBloomFilterTest {
+
+    private final InMemoryUserRepository userRepository = new InMemoryUserRepository();
+
+    /**
+     * Tests that every key may exist until the first rebuild, and that stored keys are
+     * kept while unknown ones are ruled out after it.
+     */
+    @Test
+    void rebuild_LoadsStoredKeys() {
+        userRepository.save(user("1", "11111111", "+5491100000001")).block();
+        UserBloomFilter filter = new UserBloomFilter(userRepository, properties(true));
+
+        assertTrue(filter.mightContain(LookupType.DNI, "99999999"));
+
+        filter.rebuild().block();
+
+        assertTrue(filter.mightContain(LookupType.DNI, "11111111"));
+        assertTrue(filter.mightContain(LookupType.PHONE_NUMBER, "+5491100000001"));
+        assertFalse(filter.mightContain(LookupType.DNI, "99999999"));
+        assertFalse(filter.mightContain(LookupType.PHONE_NUMBER, "+5491199999999"));
+        assertTrue(filter.mightContain(LookupType.ID, "unfiltered"));
+    }
+
+    /**
+     * Tests that written users are added, and that a rebuild drops keys no longer stored.
+     */
+    @Test
+    void put_AddsWrittenUsersUntilRebuild() {
+        UserBloomFilter filter = new UserBloomFilter(userRepository, properties(true));
+        filter.rebuild().block();
+        User written = user("2", "22222222", "+5491100000002");
+
+        filter.put(written);
+        assertTrue(filter.mightContain(LookupType.DNI, "22222222"));
+
+        filter.rebuild().block();
+        assertFalse(filter.mightContain(LookupType.DNI, "22222222"));
+    }
+
+    /**
+     * Tests that a disabled filter lets every key through.
+     */
+    @Test
+    void mightContain_DisabledFilter() {
+        UserBloomFilter filter = new UserBloomFilter(userRepository, properties(false));
+        filter.rebuild().block();
+
+        assertTrue(filter.mightContain(LookupType.DNI, "99999999"));
+    }
+
+    /**
+     * Tests that checks, false positives and rebuilds are published as metrics.
+     */
+    @Test
+    void bindTo_PublishesMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UserBloomFilter filter = new UserBloomFilter(userRepository, properties(true));
+        filter.bindTo(registry);
+        filter.rebuild().block();
+
+        filter.mightContain(LookupType.DNI, "99999999");
+        filter.recordMiss(LookupType.DNI);
+
+        assertEquals(1.0, registry.get("users.bloom.checks").tag("key", "dni").tag("result", "absent")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("users.bloom.false.positives").tag("key", "dni").functionCounter().count());
+        assertEquals(1.0, registry.get("users.bloom.rebuilds").functionCounter().count());
+        assertEquals(0.0, registry.get("users.bloom.expected.fpp").tag("key", "dni").gauge().value());
+    }
+
+    private static UserBloomFilterProperties properties(boolean enabled) {
+        UserBloomFilterProperties properties = new UserBloomFilterProperties();
+        properties.setEnabled(enabled);
+        properties.setExpectedInsertions(1000);
+        return properties;
+    }
+
+    private static User user(String id, String dni, String phoneNumber) {
+        return User.builder()
+                .id(id)
+                .dni(dni)
+                .phoneNumber(phoneNumber)
+                .email(id + "@example.com")
+                .build();
+    }
+}
@@ -0,0 +1,231 @@
+package io.banking.whatsapp.users.cache;
+
+import io.banking.whatsapp.users.config.UserCacheProperties;
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.User;
+import io.banking.whatsapp.users.utils.TestUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for UserCache.
+ * Contains unit tests for the read-through behaviour, the DNI secondary index,
+ * the eviction of every key held for a user and the caching of not-found keys.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+class UserCacheTest {
+
+    private UserCache userCache;
+    private User user;
+    private AtomicInteger loads;
+
+    /**
+     * Sets up the test environment before each test.
+     * Creates an enabled cache and a test user.
+     */
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(new UserCacheProperties());
+        user = TestUtils.createTestUser("1");
+        loads = new AtomicInteger();
+    }
+
+    /**
+     * Tests that the loader is only invoked on the first lookup by ID.
+     */
+    @Test
+    void getById_LoadsOnceThenHits() {
+        StepVerifier.create(userCache.getById("1", this::load)).expectNext(user).verifyComplete();
+        StepVerifier.create(userCache.getById("1", this::load)).expectNext(user).verifyComplete();
+
+        assertEquals(1, loads.get());
+    }
+
+    /**
+     * Tests that a user loaded by ID can then be found by DNI without loading.
+     */
+    @Test
+    void getByDni_UsesSecondaryIndex() {
+        userCache.put(user);
+
+        StepVerifier.create(userCache.getByDni("12345678", this::load)).expectNext(user).verifyComplete();
+
+        assertEquals(0, loads.get());
+    }
+
+    /**
+     * Tests that a DNI entry pointing at a user with a different DNI is treated as a miss.
+     */
+    @Test
+    void getByDni_IgnoresStaleDniEntry() {
+        userCache.put(user);
+        User changed = TestUtils.createTestUser("1");
+        changed.setDni("87654321");
+        userCache.put(changed);
+
+        StepVerifier.create(userCache.getByDni("12345678", dni -> Mono.empty())).verifyComplete();
+    }
+
+    /**
+     * Tests that evicting a user by ID also turns its DNI entry into a miss.
+     */
+    @Test
+    void evictById_RemovesEveryKey() {
+        userCache.put(user);
+        userCache.evictById("1");
+
+        StepVerifier.create(userCache.getById("1", id -> Mono.empty())).verifyComplete();
+        StepVerifier.create(userCache.getByDni("12345678", dni -> Mono.empty())).verifyComplete();
+    }
+
+    /**
+     * Tests that a user loaded before a concurrent update does not replace the updated user.
+     */
+    @Test
+    void getById_DoesNotCacheLoadRacingWithUpdate() {
+        User updated = TestUtils.createTestUser("1");
+        updated.setFirstName("Updated");
+
+        StepVerifier.create(userCache.getById("1", id -> Mono.just(user)
+                        .doOnSubscribe(subscription -> userCache.put(updated))))
+                .expectNext(user)
+                .verifyComplete();
+
+        assertSame(updated, userCache.peek(LookupType.ID, "1"));
+    }
+
+    /**
+     * Tests that writes to other users do not keep a loaded user or a miss out of the cache.
+     */
+    @Test
+    void getById_CachesLoadRacingWithWriteToOtherUser() {
+        User other = TestUtils.createTestUser("2");
+        other.setDni("87654321");
+        other.setPhoneNumber("+1987654321");
+
+        StepVerifier.create(userCache.getById("1", id -> Mono.just(user)
+                        .doOnSubscribe(subscription -> {
+                            userCache.put(other);
+                            userCache.evictById("3");
+                        })))
+                .expectNext(user)
+                .verifyComplete();
+        StepVerifier.create(userCache.getByDni("11111111", dni -> Mono.<User>empty()
+                        .doOnSubscribe(subscription -> userCache.evictMisses(other))))
+                .verifyComplete();
+
+        assertSame(user, userCache.peek(LookupType.ID, "1"));
+        assertTrue(userCache.isMissing(LookupType.DNI, "11111111"));
+    }
+
+    /**
+     * Tests that a user loaded before a concurrent delete is not cached again.
+     */
+    @Test
+    void getById_DoesNotCacheLoadRacingWithDelete() {
+        StepVerifier.create(userCache.getById("1", id -> Mono.just(user)
+                        .doOnSubscribe(subscription -> userCache.evictById("1"))))
+                .expectNext(user)
+                .verifyComplete();
+
+        assertNull(userCache.peek(LookupType.ID, "1"));
+    }
+
+    /**
+     * Tests that a key found missing is not loaded again, and that writing a user
+     * with that key forgets the miss.
+     */
+    @Test
+    void getByDni_CachesMissUntilUserIsWritten() {
+        StepVerifier.create(userCache.getByDni("12345678", this::loadNothing)).verifyComplete();
+        StepVerifier.create(userCache.getByDni("12345678", this::loadNothing)).verifyComplete();
+        assertEquals(1, loads.get());
+        assertTrue(userCache.isMissing(LookupType.DNI, "12345678"));
+
+        userCache.put(user);
+
+        assertFalse(userCache.isMissing(LookupType.DNI, "12345678"));
+        StepVerifier.create(userCache.getByDni("12345678", this::load)).expectNext(user).verifyComplete();
+    }
+
+    /**
+     * Tests that a miss is not cached when the user is written while the lookup is running.
+     */
+    @Test
+    void getByDni_DoesNotCacheMissRacingWithWrite() {
+        StepVerifier.create(userCache.getByDni("12345678", dni -> Mono.<User>empty()
+                        .doOnSubscribe(subscription -> userCache.evictMisses(user))))
+                .verifyComplete();
+
+        assertFalse(userCache.isMissing(LookupType.DNI, "12345678"));
+    }
+
+    /**
+     * Tests that misses are not cached when the negative TTL is zero.
+     */
+    @Test
+    void getById_NegativeCachingDisabled() {
+        UserCacheProperties properties = new UserCacheProperties();
+        properties.setNegativeTtl(Duration.ZERO);
+        UserCache noNegatives = new UserCache(properties);
+
+        StepVerifier.create(noNegatives.getById("1", this::loadNothing)).verifyComplete();
+        StepVerifier.create(noNegatives.getById("1", this::loadNothing)).verifyComplete();
+
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Tests that the cache bypasses storage entirely when disabled.
+     */
+    @Test
+    void disabled_AlwaysLoads() {
+        UserCacheProperties properties = new UserCacheProperties();
+        properties.setEnabled(false);
+        UserCache disabled = new UserCache(properties);
+
+        StepVerifier.create(disabled.getById("1", this::load)).expectNext(user).verifyComplete();
+        StepVerifier.create(disabled.getById("1", this::load)).expectNext(user).verifyComplete();
+
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Tests that hit and miss counts are published as cache metrics.
+     */
+    @Test
+    void bindTo_PublishesHitAndMissCounts() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        userCache.bindTo(registry);
+
+        userCache.getById("1", this::load).block();
+        userCache.getById("1", this::load).block();
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "usersById").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "usersById").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    private Mono<User> loadNothing(String key) {
+        loads.incrementAndGet();
+        return Mono.empty();
+    }
+
+    private Mono<User> load(String key) {
+        loads.incrementAndGet();
+        return Mono.just(user);
+    }
+}
@@ -0,0 +1,158 @@
+package io.banking.whatsapp.users.cache;
+
+import io.banking.whatsapp.users.config.UserLookupProperties;
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.User;
+import io.banking.whatsapp.users.repository.UserRepository;
+import io.banking.whatsapp.users.utils.TestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for UserLookupBatcher.
+ * Contains unit tests for collecting point lookups into one query per key type,
+ * flushing on the window or the size cap, and fanning results back out.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@ExtendWith(MockitoExtension.class)
+class UserLookupBatcherTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private VirtualTimeScheduler scheduler;
+    private UserLookupProperties properties;
+    private UserLookupBatcher batcher;
+
+    /**
+     * Sets up the test environment before each test.
+     * Creates an enabled batcher with a 5 ms window and a size cap of 3, driven by virtual time.
+     */
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.create();
+        properties = new UserLookupProperties();
+        properties.getBatch().setEnabled(true);
+        properties.getBatch().setWindow(Duration.ofMillis(5));
+        properties.getBatch().setMaxSize(3);
+        batcher = new UserLookupBatcher(userRepository, properties, scheduler);
+    }
+
+    /**
+     * Tests that lookups within one window are sent as a single query and each caller gets its user.
+     */
+    @Test
+    void load_BatchesLookupsWithinWindow() {
+        User first = TestUtils.createTestUser("1");
+        first.setDni("11111111");
+        User second = TestUtils.createTestUser("2");
+        second.setDni("22222222");
+        when(userRepository.findByDniIn(any())).thenReturn(Flux.just(second, first));
+
+        StepVerifier firstLookup = StepVerifier.create(batcher.load(LookupType.DNI, "11111111", this::unbatched))
+                .expectNext(first).expectComplete().verifyLater();
+        StepVerifier secondLookup = StepVerifier.create(batcher.load(LookupType.DNI, "22222222", this::unbatched))
+                .expectNext(second).expectComplete().verifyLater();
+        StepVerifier missingLookup = StepVerifier.create(batcher.load(LookupType.DNI, "33333333", this::unbatched))
+                .expectComplete().verifyLater();
+
+        firstLookup.verify();
+        secondLookup.verify();
+        missingLookup.verify();
+        verify(userRepository).findByDniIn(Set.of("11111111", "22222222", "33333333"));
+        assertEquals(1, batcher.getQueries(LookupType.DNI));
+    }
+
+    /**
+     * Tests that a batch below the size cap waits for the window before it is sent.
+     */
+    @Test
+    void load_FlushesWhenWindowEnds() {
+        User user = TestUtils.createTestUser("1");
+        when(userRepository.findAllById(anyCollection())).thenReturn(Flux.just(user));
+
+        StepVerifier lookup = StepVerifier.create(batcher.load(LookupType.ID, "1", this::unbatched))
+                .expectNext(user).expectComplete().verifyLater();
+
+        verify(userRepository, never()).findAllById(anyCollection());
+        scheduler.advanceTimeBy(Duration.ofMillis(5));
+
+        lookup.verify();
+        verify(userRepository).findAllById(Set.of("1"));
+    }
+
+    /**
+     * Tests that callers asking for the same key in one batch share a single entry.
+     */
+    @Test
+    void load_DeduplicatesKeysWithinBatch() {
+        User user = TestUtils.createTestUser("1");
+        when(userRepository.findAllById(anyCollection())).thenReturn(Flux.just(user));
+
+        StepVerifier first = StepVerifier.create(batcher.load(LookupType.ID, "1", this::unbatched))
+                .expectNext(user).expectComplete().verifyLater();
+        StepVerifier second = StepVerifier.create(batcher.load(LookupType.ID, "1", this::unbatched))
+                .expectNext(user).expectComplete().verifyLater();
+        scheduler.advanceTimeBy(Duration.ofMillis(5));
+
+        first.verify();
+        second.verify();
+        verify(userRepository, times(1)).findAllById(anyCollection());
+    }
+
+    /**
+     * Tests that a failed query is reported to every caller in the batch.
+     */
+    @Test
+    void load_PropagatesQueryErrorToEveryCaller() {
+        when(userRepository.findByPhoneNumberIn(any())).thenReturn(Flux.error(new IllegalStateException("boom")));
+
+        StepVerifier first = StepVerifier.create(batcher.load(LookupType.PHONE_NUMBER, "+1234567890", this::unbatched))
+                .expectError(IllegalStateException.class).verifyLater();
+        StepVerifier second = StepVerifier.create(batcher.load(LookupType.PHONE_NUMBER, "+1987654321", this::unbatched))
+                .expectError(IllegalStateException.class).verifyLater();
+        scheduler.advanceTimeBy(Duration.ofMillis(5));
+
+        first.verify();
+        second.verify();
+    }
+
+    /**
+     * Tests that every lookup is sent on its own when batching is disabled.
+     */
+    @Test
+    void disabled_UsesSingleKeyQuery() {
+        properties.getBatch().setEnabled(false);
+        UserLookupBatcher disabled = new UserLookupBatcher(userRepository, properties, scheduler);
+        User user = TestUtils.createTestUser("1");
+
+        StepVerifier.create(disabled.load(LookupType.ID, "1", id -> Mono.just(user)))
+                .expectNext(user)
+                .verifyComplete();
+
+        verifyNoInteractions(userRepository);
+    }
+
+    private Mono<User> unbatched(String key) {
+        return Mono.error(new AssertionError("Lookup should have been batched: " + key));
+    }
+}
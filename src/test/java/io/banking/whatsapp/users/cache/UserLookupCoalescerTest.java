@@ -0,0 +1,143 @@
+package io.banking.whatsapp.users.cache;
+
+import io.banking.whatsapp.users.config.UserLookupProperties;
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.User;
+import io.banking.whatsapp.users.utils.TestUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for UserLookupCoalescer.
+ * Contains unit tests for sharing in-flight lookups between concurrent callers
+ * and for the deduplication counter.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+class UserLookupCoalescerTest {
+
+    private UserLookupCoalescer coalescer;
+    private User user;
+    private Sinks.One<User> pending;
+    private AtomicInteger loads;
+
+    /**
+     * Sets up the test environment before each test.
+     * Creates an enabled coalescer and a loader whose result is completed by the test.
+     */
+    @BeforeEach
+    void setUp() {
+        coalescer = new UserLookupCoalescer(new UserLookupProperties());
+        user = TestUtils.createTestUser("1");
+        pending = Sinks.one();
+        loads = new AtomicInteger();
+    }
+
+    /**
+     * Tests that concurrent lookups for the same key share one query and all receive its result.
+     */
+    @Test
+    void load_ConcurrentCallersShareOneQuery() {
+        StepVerifier first = StepVerifier.create(coalescer.load(LookupType.DNI, "12345678", this::load))
+                .expectNext(user).expectComplete().verifyLater();
+        StepVerifier second = StepVerifier.create(coalescer.load(LookupType.DNI, "12345678", this::load))
+                .expectNext(user).expectComplete().verifyLater();
+
+        pending.tryEmitValue(user);
+        first.verify();
+        second.verify();
+
+        assertEquals(1, loads.get());
+        assertEquals(1, coalescer.getDeduplicated(LookupType.DNI));
+    }
+
+    /**
+     * Tests that lookups for different keys or key types are not coalesced.
+     */
+    @Test
+    void load_DifferentKeysQueryIndependently() {
+        coalescer.load(LookupType.DNI, "12345678", this::load).subscribe();
+        coalescer.load(LookupType.DNI, "87654321", this::load).subscribe();
+        coalescer.load(LookupType.ID, "12345678", this::load).subscribe();
+
+        assertEquals(3, loads.get());
+        assertEquals(0, coalescer.getDeduplicated(LookupType.DNI));
+    }
+
+    /**
+     * Tests that a completed lookup is released, so the next caller queries again.
+     */
+    @Test
+    void load_ReleasesKeyOnCompletion() {
+        pending.tryEmitValue(user);
+
+        StepVerifier.create(coalescer.load(LookupType.ID, "1", this::load)).expectNext(user).verifyComplete();
+        StepVerifier.create(coalescer.load(LookupType.ID, "1", this::load)).expectNext(user).verifyComplete();
+
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Tests that an error is delivered to every waiting caller and then released.
+     */
+    @Test
+    void load_SharesErrors() {
+        StepVerifier first = StepVerifier.create(coalescer.load(LookupType.ID, "1", this::load))
+                .expectError(IllegalStateException.class).verifyLater();
+        StepVerifier second = StepVerifier.create(coalescer.load(LookupType.ID, "1", this::load))
+                .expectError(IllegalStateException.class).verifyLater();
+
+        pending.tryEmitError(new IllegalStateException("boom"));
+        first.verify();
+        second.verify();
+
+        coalescer.load(LookupType.ID, "1", this::load).subscribe(ignored -> { }, ignored -> { });
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Tests that every lookup queries the database when coalescing is disabled.
+     */
+    @Test
+    void disabled_AlwaysLoads() {
+        UserLookupProperties properties = new UserLookupProperties();
+        properties.setCoalesce(false);
+        UserLookupCoalescer disabled = new UserLookupCoalescer(properties);
+
+        disabled.load(LookupType.ID, "1", this::load).subscribe();
+        disabled.load(LookupType.ID, "1", this::load).subscribe();
+
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Tests that deduplicated lookups are published as a Micrometer counter.
+     */
+    @Test
+    void bindTo_PublishesDeduplicatedCount() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        coalescer.bindTo(registry);
+
+        coalescer.load(LookupType.PHONE_NUMBER, "+1234567890", this::load).subscribe();
+        coalescer.load(LookupType.PHONE_NUMBER, "+1234567890", this::load).subscribe();
+
+        assertEquals(1.0, registry.get("users.lookups.deduplicated").tag("type", "phoneNumber")
+                .functionCounter().count());
+    }
+
+    private Mono<User> load(String key) {
+        loads.incrementAndGet();
+        return pending.asMono();
+    }
+}
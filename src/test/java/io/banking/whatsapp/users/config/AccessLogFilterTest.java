@@ -0,0 +1,188 @@
+package io.banking.whatsapp.users.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AccessLogFilter.
+ * Contains unit tests for access log sampling, the slow, failed and cancelled request rules
+ * and the point at which a request is logged.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+class AccessLogFilterTest {
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AccessLogFilter.LOGGER_NAME);
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    /**
+     * Tests that a sampled request is logged at INFO with method, path, status and latency.
+     */
+    @Test
+    void filter_LogsSampledRequest() {
+        AccessLogFilter filter = new AccessLogFilter(properties(0.5), () -> 0.1);
+
+        run(filter, "/users/1?fields=email", respondWith(HttpStatus.OK));
+
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals(Level.INFO, event.getLevel());
+        assertTrue(event.getFormattedMessage().startsWith("GET /users/1 200 "));
+        assertFalse(event.getFormattedMessage().contains("fields"));
+    }
+
+    /**
+     * Tests that a successful request outside the sample is not logged.
+     */
+    @Test
+    void filter_SkipsUnsampledRequest() {
+        AccessLogFilter filter = new AccessLogFilter(properties(0.5), () -> 0.9);
+
+        run(filter, "/users/1", respondWith(HttpStatus.NOT_FOUND));
+
+        assertTrue(appender.list.isEmpty());
+    }
+
+    /**
+     * Tests that server errors are always logged at WARN.
+     */
+    @Test
+    void filter_AlwaysLogsServerErrors() {
+        AccessLogFilter filter = new AccessLogFilter(properties(0.0), () -> 0.9);
+
+        run(filter, "/users/1", respondWith(HttpStatus.SERVICE_UNAVAILABLE));
+
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.WARN, appender.list.get(0).getLevel());
+        assertTrue(appender.list.get(0).getFormattedMessage().startsWith("GET /users/1 503 "));
+    }
+
+    /**
+     * Tests that nothing is logged until the chain finishes writing the response.
+     */
+    @Test
+    void filter_LogsWhenChainCompletes() {
+        AccessLogFilter filter = new AccessLogFilter(properties(1.0), () -> 0.0);
+        Sinks.Empty<Void> written = Sinks.empty();
+
+        StepVerifier.create(filter.filter(exchange("/users/1"), exchange -> {
+                    exchange.getResponse().setStatusCode(HttpStatus.OK);
+                    return exchange.getResponse().setComplete().then(written.asMono());
+                }))
+                .then(() -> assertTrue(appender.list.isEmpty()))
+                .then(written::tryEmitEmpty)
+                .verifyComplete();
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().endsWith(" us complete"));
+    }
+
+    /**
+     * Tests that a request cancelled mid-response, e.g. by a client reset, is always logged at WARN.
+     */
+    @Test
+    void filter_AlwaysLogsCancelledRequests() {
+        AccessLogFilter filter = new AccessLogFilter(properties(0.0), () -> 0.9);
+
+        StepVerifier.create(filter.filter(exchange("/users/1"), exchange -> {
+                    exchange.getResponse().setStatusCode(HttpStatus.OK);
+                    return Mono.never();
+                }))
+                .thenCancel()
+                .verify();
+
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.WARN, appender.list.get(0).getLevel());
+        assertTrue(appender.list.get(0).getFormattedMessage().startsWith("GET /users/1 200 "));
+        assertTrue(appender.list.get(0).getFormattedMessage().endsWith(" us cancel"));
+    }
+
+    /**
+     * Tests that an error reaching the filter is always logged at WARN with the status it maps to.
+     */
+    @Test
+    void filter_AlwaysLogsErrors() {
+        AccessLogFilter filter = new AccessLogFilter(properties(0.0), () -> 0.9);
+
+        StepVerifier.create(filter.filter(exchange("/users/1"),
+                        exchange -> Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND))))
+                .verifyError(ResponseStatusException.class);
+        StepVerifier.create(filter.filter(exchange("/users/2"),
+                        exchange -> Mono.error(new IllegalStateException("boom"))))
+                .verifyError(IllegalStateException.class);
+
+        assertEquals(2, appender.list.size());
+        assertEquals(Level.WARN, appender.list.get(0).getLevel());
+        assertTrue(appender.list.get(0).getFormattedMessage().startsWith("GET /users/1 404 "));
+        assertTrue(appender.list.get(0).getFormattedMessage().endsWith(" us error"));
+        assertTrue(appender.list.get(1).getFormattedMessage().startsWith("GET /users/2 500 "));
+    }
+
+    /**
+     * Tests that requests slower than the threshold are always logged at WARN.
+     */
+    @Test
+    void filter_AlwaysLogsSlowRequests() {
+        AccessLogProperties properties = properties(0.0);
+        properties.setSlowThreshold(Duration.ZERO);
+        AccessLogFilter filter = new AccessLogFilter(properties, () -> 0.9);
+
+        run(filter, "/users/1", respondWith(HttpStatus.OK));
+
+        assertEquals(1, appender.list.size());
+        assertEquals(Level.WARN, appender.list.get(0).getLevel());
+    }
+
+    private static AccessLogProperties properties(double sampleRate) {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setSampleRate(sampleRate);
+        properties.setSlowThreshold(Duration.ofMinutes(1));
+        return properties;
+    }
+
+    private static MockServerWebExchange exchange(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+    }
+
+    private static WebFilterChain respondWith(HttpStatus status) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(status);
+            return exchange.getResponse().setComplete();
+        };
+    }
+
+    private static void run(AccessLogFilter filter, String uri, WebFilterChain chain) {
+        StepVerifier.create(filter.filter(exchange(uri), chain)).verifyComplete();
+    }
+}
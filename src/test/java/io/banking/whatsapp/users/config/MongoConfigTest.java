@@ -0,0 +1,78 @@
+package io.banking.whatsapp.users.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for MongoConfig.
+ * Contains unit tests for applying the MongoDB client properties to the driver settings.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+class MongoConfigTest {
+
+    /**
+     * Tests that pool sizing, timeouts and compressors are applied to the client settings.
+     */
+    @Test
+    void customize_AppliesProperties() {
+        MongoClientProperties properties = new MongoClientProperties();
+        properties.getPool().setMaxSize(50);
+        properties.getPool().setMinSize(5);
+        properties.getPool().setMaxWaitTime(Duration.ofMillis(750));
+        properties.setConnectTimeout(Duration.ofSeconds(1));
+        properties.setReadTimeout(Duration.ofSeconds(3));
+        properties.setServerSelectionTimeout(Duration.ofSeconds(4));
+
+        MongoClientSettings settings = build(properties);
+
+        assertEquals(50, settings.getConnectionPoolSettings().getMaxSize());
+        assertEquals(5, settings.getConnectionPoolSettings().getMinSize());
+        assertEquals(750, settings.getConnectionPoolSettings().getMaxWaitTime(TimeUnit.MILLISECONDS));
+        assertEquals(1000, settings.getSocketSettings().getConnectTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(3000, settings.getSocketSettings().getReadTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(4000, settings.getClusterSettings().getServerSelectionTimeout(TimeUnit.MILLISECONDS));
+        assertEquals(List.of("zstd", "snappy"),
+                settings.getCompressorList().stream().map(MongoCompressor::getName).toList());
+    }
+
+    /**
+     * Tests that compressor names are matched case-insensitively and an empty list disables compression.
+     */
+    @Test
+    void customize_ConfiguresCompressors() {
+        MongoClientProperties properties = new MongoClientProperties();
+        properties.setCompressors(List.of(" ZLIB "));
+        assertEquals(List.of("zlib"),
+                build(properties).getCompressorList().stream().map(MongoCompressor::getName).toList());
+
+        properties.setCompressors(List.of());
+        assertTrue(build(properties).getCompressorList().isEmpty());
+    }
+
+    /**
+     * Tests that an unknown compressor is rejected.
+     */
+    @Test
+    void customize_RejectsUnknownCompressor() {
+        MongoClientProperties properties = new MongoClientProperties();
+        properties.setCompressors(List.of("lz4"));
+
+        assertThrows(IllegalArgumentException.class, () -> build(properties));
+    }
+
+    private static MongoClientSettings build(MongoClientProperties properties) {
+        MongoClientSettings.Builder builder = MongoClientSettings.builder();
+        MongoConfig.customize(builder, properties);
+        return builder.build();
+    }
+}
@@ -1,22 +1,50 @@
 package io.banking.whatsapp.users.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.banking.whatsapp.users.config.JacksonConfig;
+import io.banking.whatsapp.users.config.WebConfig;
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.dto.ProjectedUserResponseDTO;
+import io.banking.whatsapp.users.domain.dto.UserBulkDeleteRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserBulkDeleteResultDTO;
+import io.banking.whatsapp.users.domain.dto.UserBulkResultDTO;
+import io.banking.whatsapp.users.domain.dto.UserLookupRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserLookupResultDTO;
+import io.banking.whatsapp.users.domain.dto.UserPageDTO;
+import io.banking.whatsapp.users.domain.dto.UserPatchRequestDTO;
 import io.banking.whatsapp.users.domain.dto.UserRequestDTO;
 import io.banking.whatsapp.users.domain.dto.UserResponseDTO;
 import io.banking.whatsapp.users.exception.NotFoundException;
 import io.banking.whatsapp.users.service.UserService;
+import io.banking.whatsapp.users.utils.ETags;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 
@@ -39,6 +67,7 @@ class UserControllerTest {
     @InjectMocks
     private UserController userController;
 
+    private JacksonConfig jacksonConfig;
     private WebTestClient webTestClient;
     private UserRequestDTO userRequestDTO;
     private UserResponseDTO userResponseDTO;
@@ -49,7 +78,11 @@ class UserControllerTest {
      */
     @BeforeEach
     void setUp() {
-        webTestClient = WebTestClient.bindToController(userController).build();
+        jacksonConfig = new JacksonConfig();
+        webTestClient = WebTestClient.bindToController(userController)
+                .httpMessageCodecs(jacksonConfig::configureHttpMessageCodecs)
+                .webFilter(new WebConfig().varyOnAcceptFilter())
+                .build();
 
         userRequestDTO = new UserRequestDTO();
         userRequestDTO.setFirstName("John");
@@ -89,6 +122,50 @@ class UserControllerTest {
         verify(userService).createUser(any(UserRequestDTO.class));
     }
 
+    /**
+     * Tests user creation with a phone number that cannot be normalized.
+     * Verifies that the endpoint returns 400 Bad Request without calling the service.
+     */
+    @Test
+    void createUser_InvalidPhoneNumber() {
+        userRequestDTO.setPhoneNumber("011 2233-4455");
+
+        webTestClient.post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userRequestDTO)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userService, never()).createUser(any());
+    }
+
+    /**
+     * Tests bulk user creation from an NDJSON stream.
+     * Verifies that the endpoint streams back one NDJSON result per submitted user.
+     */
+    @Test
+    void createUsers_StreamsResults() {
+        when(userService.createUsers(ArgumentMatchers.<Flux<UserRequestDTO>>any()))
+                .thenAnswer(invocation -> invocation.<Flux<UserRequestDTO>>getArgument(0)
+                        .index()
+                        .map(tuple -> UserBulkResultDTO.builder()
+                                .index(tuple.getT1())
+                                .success(true)
+                                .user(userResponseDTO)
+                                .build()));
+
+        webTestClient.post()
+                .uri("/api/v1/users/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"firstName\":\"John\",\"dni\":\"1\"}\n{\"firstName\":\"Jane\",\"dni\":\"2\"}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(UserBulkResultDTO.class)
+                .hasSize(2);
+    }
+
     /**
      * Tests successful user retrieval by ID.
      * Verifies that the endpoint returns 200 OK with the correct user data.
@@ -96,7 +173,7 @@ class UserControllerTest {
     @Test
     void getUserById_Success() {
         String userId = "1";
-        when(userService.getUserById(userId))
+        when(userService.getUserById(userId, null))
                 .thenReturn(Mono.just(userResponseDTO));
 
         webTestClient.get()
@@ -106,7 +183,33 @@ class UserControllerTest {
                 .expectBody(UserResponseDTO.class)
                 .isEqualTo(userResponseDTO);
 
-        verify(userService).getUserById(userId);
+        verify(userService).getUserById(userId, null);
+    }
+
+    /**
+     * Tests content negotiation when the client expresses no preference.
+     * Verifies that JSON is returned without an Accept header and for {@code Accept: *}{@code /*},
+     * and that responses vary on Accept.
+     */
+    @Test
+    void getUserById_DefaultsToJson() {
+        String userId = "1";
+        when(userService.getUserById(userId, null))
+                .thenReturn(Mono.just(userResponseDTO));
+
+        webTestClient.get()
+                .uri("/api/v1/users/{id}", userId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        webTestClient.get()
+                .uri("/api/v1/users/{id}", userId)
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON);
     }
 
     /**
@@ -116,7 +219,7 @@ class UserControllerTest {
     @Test
     void getUserById_NotFound() {
         String userId = "1";
-        when(userService.getUserById(userId))
+        when(userService.getUserById(userId, null))
                 .thenReturn(Mono.error(new NotFoundException("User not found with ID: " + userId)));
 
         webTestClient.get()
@@ -124,7 +227,128 @@ class UserControllerTest {
                 .exchange()
                 .expectStatus().isNotFound();
 
-        verify(userService).getUserById(userId);
+        verify(userService).getUserById(userId, null);
+    }
+
+    /**
+     * Tests that a user is returned with its ETag and that a current If-None-Match gets 304.
+     * Verifies that a cached ETag answers the conditional GET without loading the user,
+     * and that a user loaded because it is not cached still yields 304 with no body.
+     */
+    @Test
+    void getUserById_ConditionalGet() {
+        userResponseDTO.setEtag("\"1-2\"");
+        when(userService.getUserById("1", null)).thenReturn(Mono.just(userResponseDTO));
+        when(userService.getCachedETag(LookupType.ID, "1"))
+                .thenReturn(Mono.just("\"1-2\""))
+                .thenReturn(Mono.empty());
+
+        webTestClient.get()
+                .uri("/api/v1/users/{id}", "1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-2\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-2\"")
+                .expectBody().isEmpty();
+        verify(userService, never()).getUserById("1", null);
+
+        webTestClient.get()
+                .uri("/api/v1/users/{id}", "1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-2\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        webTestClient.get()
+                .uri("/api/v1/users/{id}", "1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-1\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-2\"")
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("John")
+                .jsonPath("$.etag").doesNotExist();
+    }
+
+    /**
+     * Tests that each representation of a user has its own ETag.
+     * Verifies that a field subset and a CBOR body are tagged apart from the full JSON body,
+     * and that the cached ETag of the full body does not answer 304 for them.
+     */
+    @Test
+    void getUserById_TagsEachRepresentation() {
+        userResponseDTO.setEtag("\"1-2\"");
+        String projectedTag = ETags.of("\"1-2\"", Set.of("firstName"), null);
+        String cborTag = ETags.of("\"1-2\"", null, MediaType.APPLICATION_CBOR);
+        assertNotEquals("\"1-2\"", projectedTag);
+        assertNotEquals("\"1-2\"", cborTag);
+        assertNotEquals(projectedTag, cborTag);
+        when(userService.getUserById("1", Set.of("firstName"))).thenReturn(Mono.just(userResponseDTO));
+        when(userService.getUserById("1", null)).thenReturn(Mono.just(userResponseDTO));
+        when(userService.getCachedETag(LookupType.ID, "1")).thenReturn(Mono.just("\"1-2\""));
+
+        webTestClient.get()
+                .uri("/api/v1/users/{id}?fields=firstName", "1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-2\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, projectedTag);
+
+        webTestClient.get()
+                .uri("/api/v1/users/{id}", "1")
+                .accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-2\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, cborTag);
+
+        webTestClient.get()
+                .uri("/api/v1/users/{id}", "1")
+                .accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, cborTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, cborTag);
+        verify(userService, times(1)).getUserById("1", null);
+    }
+
+    /**
+     * Tests user retrieval by ID with a field projection.
+     * Verifies that the requested fields are passed to the service and null fields are omitted.
+     */
+    @Test
+    void getUserById_WithFields() {
+        UserResponseDTO projected = new ProjectedUserResponseDTO();
+        projected.setFirstName("John");
+        when(userService.getUserById("1", Set.of("firstName")))
+                .thenReturn(Mono.just(projected));
+
+        webTestClient.get()
+                .uri("/api/v1/users/{id}?fields=firstName", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("John")
+                .jsonPath("$.id").doesNotExist()
+                .jsonPath("$.email").doesNotExist();
+    }
+
+    /**
+     * Tests that a full response keeps fields without a value as explicit nulls.
+     */
+    @Test
+    void getUserById_FullResponseKeepsNullFields() {
+        when(userService.getUserById("1", null))
+                .thenReturn(Mono.just(userResponseDTO));
+
+        webTestClient.get()
+                .uri("/api/v1/users/{id}", "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.createdAt").hasJsonPath()
+                .jsonPath("$.createdAt").isEmpty();
     }
 
     /**
@@ -134,7 +358,7 @@ class UserControllerTest {
     @Test
     void getUserByDni_Success() {
         String dni = "12345678";
-        when(userService.getUserByDni(dni))
+        when(userService.getUserByDni(dni, null))
                 .thenReturn(Mono.just(userResponseDTO));
 
         webTestClient.get()
@@ -144,7 +368,7 @@ class UserControllerTest {
                 .expectBody(UserResponseDTO.class)
                 .isEqualTo(userResponseDTO);
 
-        verify(userService).getUserByDni(dni);
+        verify(userService).getUserByDni(dni, null);
     }
 
     /**
@@ -154,7 +378,7 @@ class UserControllerTest {
     @Test
     void getUserByDni_NotFound() {
         String dni = "12345678";
-        when(userService.getUserByDni(dni))
+        when(userService.getUserByDni(dni, null))
                 .thenReturn(Mono.error(new NotFoundException("User not found with DNI: " + dni)));
 
         webTestClient.get()
@@ -162,27 +386,219 @@ class UserControllerTest {
                 .exchange()
                 .expectStatus().isNotFound();
 
-        verify(userService).getUserByDni(dni);
+        verify(userService).getUserByDni(dni, null);
     }
 
     /**
-     * Tests successful retrieval of all users.
-     * Verifies that the endpoint returns 200 OK with the correct list of users.
+     * Tests successful user retrieval by phone number.
+     * Verifies that the endpoint returns 200 OK with the correct user data.
      */
     @Test
-    void getAllUsers_Success() {
-        when(userService.getAllUsers())
-                .thenReturn(Flux.just(userResponseDTO));
+    void getUserByPhoneNumber_Success() {
+        String phone = "+1234567890";
+        when(userService.getUserByPhoneNumber(phone, null))
+                .thenReturn(Mono.just(userResponseDTO));
+
+        webTestClient.get()
+                .uri("/api/v1/users/phone/{phone}", phone)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserResponseDTO.class)
+                .isEqualTo(userResponseDTO);
+
+        verify(userService).getUserByPhoneNumber(phone, null);
+    }
+
+    /**
+     * Tests user retrieval by phone number when user is not found.
+     * Verifies that the endpoint returns 404 Not Found.
+     */
+    @Test
+    void getUserByPhoneNumber_NotFound() {
+        String phone = "+1234567890";
+        when(userService.getUserByPhoneNumber(phone, null))
+                .thenReturn(Mono.error(new NotFoundException("User not found with phone number: " + phone)));
+
+        webTestClient.get()
+                .uri("/api/v1/users/phone/{phone}", phone)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        verify(userService).getUserByPhoneNumber(phone, null);
+    }
+
+    /**
+     * Tests batch lookup of users.
+     * Verifies that the endpoint returns 200 OK with one result per requested key.
+     */
+    @Test
+    void lookupUsers_Success() {
+        UserLookupRequestDTO request = new UserLookupRequestDTO();
+        request.setDnis(List.of("12345678", "00000000"));
+        when(userService.lookupUsers(any(UserLookupRequestDTO.class)))
+                .thenReturn(Flux.just(
+                        new UserLookupResultDTO(LookupType.DNI, "12345678", true, userResponseDTO),
+                        new UserLookupResultDTO(LookupType.DNI, "00000000", false, null)));
+
+        webTestClient.post()
+                .uri("/api/v1/users/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].found").isEqualTo(true)
+                .jsonPath("$[0].user.dni").isEqualTo("12345678")
+                .jsonPath("$[1].key").isEqualTo("00000000")
+                .jsonPath("$[1].found").isEqualTo(false);
+
+        verify(userService).lookupUsers(any(UserLookupRequestDTO.class));
+    }
+
+    /**
+     * Tests user creation with CBOR bodies.
+     * Verifies that a CBOR request is decoded and the created user is returned as CBOR.
+     *
+     * @throws IOException if the bodies cannot be encoded or decoded
+     */
+    @Test
+    void createUser_Cbor() throws IOException {
+        ObjectMapper cbor = jacksonConfig.cborObjectMapper();
+        when(userService.createUser(any(UserRequestDTO.class)))
+                .thenReturn(Mono.just(userResponseDTO));
+
+        byte[] body = webTestClient.post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .bodyValue(cbor.writeValueAsBytes(userRequestDTO))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(body);
+        assertEquals(userResponseDTO, cbor.readValue(body, UserResponseDTO.class));
+        verify(userService).createUser(eq(userRequestDTO));
+    }
+
+    /**
+     * Tests batch lookup with a Smile response.
+     * Verifies that the streamed results are written as a single Smile array.
+     *
+     * @throws IOException if the response cannot be decoded
+     */
+    @Test
+    void lookupUsers_Smile() throws IOException {
+        UserLookupRequestDTO request = new UserLookupRequestDTO();
+        request.setDnis(List.of("12345678", "00000000"));
+        when(userService.lookupUsers(any(UserLookupRequestDTO.class)))
+                .thenReturn(Flux.just(
+                        new UserLookupResultDTO(LookupType.DNI, "12345678", true, userResponseDTO),
+                        new UserLookupResultDTO(LookupType.DNI, "00000000", false, null)));
+
+        byte[] body = webTestClient.post()
+                .uri("/api/v1/users/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.valueOf(JacksonConfig.APPLICATION_SMILE_VALUE))
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(JacksonConfig.APPLICATION_SMILE_VALUE)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(body);
+        List<UserLookupResultDTO> results = jacksonConfig.smileObjectMapper()
+                .readValue(body, new TypeReference<List<UserLookupResultDTO>>() { });
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isFound());
+        assertEquals(userResponseDTO, results.get(0).getUser());
+        assertFalse(results.get(1).isFound());
+    }
+
+    /**
+     * Tests successful retrieval of a page of users.
+     * Verifies that the body is a plain array of users and that the next page is linked
+     * from the Link header with the other query parameters kept.
+     */
+    @Test
+    void getUsers_Success() {
+        when(userService.getUsers(10, "abc", "ACTIVE", null))
+                .thenReturn(Mono.just(new UserPageDTO(List.of(userResponseDTO), "next")));
+
+        webTestClient.get()
+                .uri("/api/v1/users?size=10&cursor=abc&status=ACTIVE")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.LINK, link ->
+                        assertTrue(link.endsWith("/api/v1/users?size=10&status=ACTIVE&cursor=next>; rel=\"next\""), link))
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(userResponseDTO.getId());
+
+        verify(userService).getUsers(10, "abc", "ACTIVE", null);
+    }
+
+    /**
+     * Tests that the last page of users carries no Link header.
+     */
+    @Test
+    void getUsers_LastPageHasNoLink() {
+        when(userService.getUsers(null, null, null, null))
+                .thenReturn(Mono.just(new UserPageDTO(List.of(userResponseDTO), null)));
 
         webTestClient.get()
                 .uri("/api/v1/users")
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.LINK)
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(userResponseDTO.getId());
+    }
+
+    /**
+     * Tests streaming export of all users as NDJSON.
+     * Verifies that the export is selected by the Accept header and streams one line per user.
+     */
+    @Test
+    void exportUsers_Ndjson() {
+        when(userService.getAllUsers(null, null))
+                .thenReturn(Flux.just(userResponseDTO, userResponseDTO));
+
+        webTestClient.get()
+                .uri("/api/v1/users")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
                 .expectBodyList(UserResponseDTO.class)
-                .hasSize(1)
-                .contains(userResponseDTO);
+                .hasSize(2);
 
-        verify(userService).getAllUsers();
+        verify(userService).getAllUsers(null, null);
+    }
+
+    /**
+     * Tests streaming export of all users as Server-Sent Events.
+     * Verifies that each user is sent as a separate event.
+     */
+    @Test
+    void exportUsers_ServerSentEvents() {
+        when(userService.getAllUsers("ACTIVE", null))
+                .thenReturn(Flux.just(userResponseDTO));
+
+        webTestClient.get()
+                .uri("/api/v1/users?status=ACTIVE")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .expectBody(String.class)
+                .value(body -> assertTrue(body.startsWith("data:")));
     }
 
     /**
@@ -207,6 +623,55 @@ class UserControllerTest {
         verify(userService).updateUser(eq(userId), any(UserRequestDTO.class));
     }
 
+    /**
+     * Tests a conditional update.
+     * Verifies that the version named by If-Match is passed to the service, and that an ETag
+     * of another user fails the precondition without calling the service.
+     */
+    @Test
+    void updateUser_IfMatch() {
+        userResponseDTO.setEtag("\"1-3\"");
+        when(userService.updateUser(eq("1"), any(UserRequestDTO.class), eq(2L)))
+                .thenReturn(Mono.just(userResponseDTO));
+
+        webTestClient.put()
+                .uri("/api/v1/users/{id}", "1")
+                .header(HttpHeaders.IF_MATCH, "\"1-2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userRequestDTO)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-3\"");
+
+        webTestClient.put()
+                .uri("/api/v1/users/{id}", "1")
+                .header(HttpHeaders.IF_MATCH, "\"2-2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userRequestDTO)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        verify(userService).updateUser(eq("1"), any(UserRequestDTO.class), eq(2L));
+        verify(userService, never()).updateUser(eq("1"), any(UserRequestDTO.class));
+    }
+
+    /**
+     * Tests that If-Match: * fails the precondition when the user does not exist.
+     */
+    @Test
+    void updateUser_IfMatchWildcardOnMissingUser() {
+        when(userService.updateUser(eq("1"), any(UserRequestDTO.class)))
+                .thenReturn(Mono.error(new NotFoundException("User not found with ID: 1")));
+
+        webTestClient.put()
+                .uri("/api/v1/users/{id}", "1")
+                .header(HttpHeaders.IF_MATCH, "*")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userRequestDTO)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
     /**
      * Tests user update when user is not found.
      * Verifies that the endpoint returns 404 Not Found.
@@ -227,6 +692,44 @@ class UserControllerTest {
         verify(userService).updateUser(eq(userId), any(UserRequestDTO.class));
     }
 
+    /**
+     * Tests successful partial user update.
+     * Verifies that the endpoint returns 200 OK with the updated user data.
+     */
+    @Test
+    void patchUser_Success() {
+        String userId = "1";
+        when(userService.patchUser(eq(userId), any(UserPatchRequestDTO.class)))
+                .thenReturn(Mono.just(userResponseDTO));
+
+        webTestClient.patch()
+                .uri("/api/v1/users/{id}", userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"status\":\"INACTIVE\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserResponseDTO.class)
+                .isEqualTo(userResponseDTO);
+
+        verify(userService).patchUser(eq(userId), any(UserPatchRequestDTO.class));
+    }
+
+    /**
+     * Tests partial user update with an invalid status.
+     * Verifies that the endpoint returns 400 Bad Request without calling the service.
+     */
+    @Test
+    void patchUser_InvalidStatus() {
+        webTestClient.patch()
+                .uri("/api/v1/users/{id}", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"status\":\"DELETED\"}")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userService, never()).patchUser(any(), any());
+    }
+
     /**
      * Tests successful user deletion.
      * Verifies that the endpoint returns 204 No Content.
@@ -263,6 +766,30 @@ class UserControllerTest {
         verify(userService).deleteUser(userId);
     }
 
+    /**
+     * Tests bulk deletion of users.
+     * Verifies that the endpoint returns 200 OK with the requested and deleted counts.
+     */
+    @Test
+    void deleteUsers_Success() {
+        UserBulkDeleteRequestDTO request = new UserBulkDeleteRequestDTO();
+        request.setIds(List.of("1", "2"));
+        when(userService.deleteUsers(any(UserBulkDeleteRequestDTO.class)))
+                .thenReturn(Mono.just(new UserBulkDeleteResultDTO(2, 1)));
+
+        webTestClient.post()
+                .uri("/api/v1/users/bulk-delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.requested").isEqualTo(2)
+                .jsonPath("$.deleted").isEqualTo(1);
+
+        verify(userService).deleteUsers(any(UserBulkDeleteRequestDTO.class));
+    }
+
     /**
      * Tests successful user retrieval by DNI and verifies JSON serialization.
      * Verifies that the endpoint returns 200 OK with the correct user data and correct JSON serialization.
@@ -270,7 +797,7 @@ class UserControllerTest {
     @Test
     void getUserByDni_VerifyJsonSerialization() {
         String dni = "12345678";
-        when(userService.getUserByDni(dni))
+        when(userService.getUserByDni(dni, null))
                 .thenReturn(Mono.just(userResponseDTO));
 
         webTestClient.get()
@@ -0,0 +1,173 @@
+package io.banking.whatsapp.users.controller;
+
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.dto.UserLookupRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserLookupResultDTO;
+import io.banking.whatsapp.users.domain.dto.UserRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserResponseDTO;
+import io.banking.whatsapp.users.exception.NotFoundException;
+import io.banking.whatsapp.users.service.UserService;
+import io.rsocket.core.RSocketServer;
+import io.rsocket.exceptions.ApplicationErrorException;
+import io.rsocket.transport.netty.server.CloseableChannel;
+import io.rsocket.transport.netty.server.TcpServerTransport;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.messaging.rsocket.RSocketStrategies;
+import org.springframework.messaging.rsocket.annotation.support.RSocketMessageHandler;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for UserRSocketController.
+ * Contains tests for the RSocket routes, served by a real RSocket server over TCP
+ * with CBOR payloads, and Mockito for mocking the service.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@ExtendWith(MockitoExtension.class)
+class UserRSocketControllerTest {
+
+    @Mock
+    private UserService userService;
+
+    private ValidatorFactory validatorFactory;
+    private CloseableChannel server;
+    private RSocketRequester requester;
+    private UserResponseDTO userResponseDTO;
+
+    /**
+     * Starts an RSocket server for the controller and connects a requester to it.
+     */
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        RSocketStrategies strategies = RSocketStrategies.builder()
+                .encoder(new Jackson2CborEncoder())
+                .decoder(new Jackson2CborDecoder())
+                .build();
+
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.registerBean(UserRSocketController.class, () -> new UserRSocketController(userService));
+        context.refresh();
+        RSocketMessageHandler handler = new RSocketMessageHandler();
+        handler.setApplicationContext(context);
+        handler.setRSocketStrategies(strategies);
+        handler.setValidator(new SpringValidatorAdapter(validatorFactory.getValidator()));
+        handler.afterPropertiesSet();
+
+        server = RSocketServer.create(handler.responder())
+                .bind(TcpServerTransport.create("localhost", 0))
+                .block();
+        requester = RSocketRequester.builder()
+                .rsocketStrategies(strategies)
+                .dataMimeType(MimeTypeUtils.parseMimeType("application/cbor"))
+                .tcp("localhost", server.address().getPort());
+
+        userResponseDTO = new UserResponseDTO();
+        userResponseDTO.setId("1");
+        userResponseDTO.setFirstName("John");
+        userResponseDTO.setDni("12345678");
+        userResponseDTO.setStatus("ACTIVE");
+    }
+
+    /**
+     * Closes the requester, the server and the validator factory.
+     */
+    @AfterEach
+    void tearDown() {
+        requester.dispose();
+        server.dispose();
+        validatorFactory.close();
+    }
+
+    /**
+     * Tests a request-response lookup by ID.
+     * Verifies that the key is taken from the route and the user is returned.
+     */
+    @Test
+    void getUserById_Success() {
+        when(userService.getUserById("1")).thenReturn(Mono.just(userResponseDTO));
+
+        StepVerifier.create(requester.route("users.by-id.{id}", "1").retrieveMono(UserResponseDTO.class))
+                .expectNext(userResponseDTO)
+                .verifyComplete();
+    }
+
+    /**
+     * Tests a lookup of a missing user.
+     * Verifies that the failure reaches the requester as an application error with the exception message.
+     */
+    @Test
+    void getUserByDni_NotFound() {
+        when(userService.getUserByDni("87654321"))
+                .thenReturn(Mono.error(new NotFoundException("User not found with DNI: 87654321")));
+
+        StepVerifier.create(requester.route("users.by-dni.{dni}", "87654321").retrieveMono(UserResponseDTO.class))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(ApplicationErrorException.class, error);
+                    assertEquals("User not found with DNI: 87654321", error.getMessage());
+                })
+                .verify();
+    }
+
+    /**
+     * Tests a request-stream batch lookup.
+     * Verifies that one result per key is streamed back.
+     */
+    @Test
+    void lookupUsers_Streams() {
+        UserLookupRequestDTO request = new UserLookupRequestDTO();
+        request.setIds(List.of("1", "2"));
+        when(userService.lookupUsers(any(UserLookupRequestDTO.class))).thenReturn(Flux.just(
+                UserLookupResultDTO.builder().type(LookupType.ID).key("1").found(true).user(userResponseDTO).build(),
+                UserLookupResultDTO.builder().type(LookupType.ID).key("2").found(false).build()));
+
+        StepVerifier.create(requester.route("users.lookup").data(request).retrieveFlux(UserLookupResultDTO.class))
+                .assertNext(result -> assertTrue(result.isFound()))
+                .assertNext(result -> assertFalse(result.isFound()))
+                .verifyComplete();
+    }
+
+    /**
+     * Tests that an invalid create payload is rejected before reaching the service,
+     * with the invalid fields listed in the error message.
+     */
+    @Test
+    void createUser_RejectsInvalidPayload() {
+        StepVerifier.create(requester.route("users.create").data(new UserRequestDTO())
+                        .retrieveMono(UserResponseDTO.class))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(ApplicationErrorException.class, error);
+                    assertTrue(error.getMessage().startsWith("Validation error: "));
+                    assertTrue(error.getMessage().contains("dni: DNI is required"));
+                })
+                .verify();
+
+        verify(userService, never()).createUser(any());
+    }
+}
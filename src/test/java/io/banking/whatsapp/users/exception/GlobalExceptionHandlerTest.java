@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
@@ -32,6 +33,7 @@ class GlobalExceptionHandlerTest {
 
     private GlobalExceptionHandler exceptionHandler;
     private MethodParameter methodParameter;
+    private final MockServerHttpRequest request = MockServerHttpRequest.get("/api/v1/users/1").build();
 
     /**
      * Sets up the test environment before each test.
@@ -57,7 +59,7 @@ class GlobalExceptionHandlerTest {
         UserException userException = new UserException(errorMessage);
 
         // Act
-        ResponseEntity<ErrorResponseDTO> response = exceptionHandler.handleUserException(userException);
+        ResponseEntity<ErrorResponseDTO> response = exceptionHandler.handleUserException(userException, request);
 
         // Assert
         assertNotNull(response);
@@ -67,9 +69,43 @@ class GlobalExceptionHandlerTest {
         assertNotNull(errorResponse);
         assertEquals(errorMessage, errorResponse.getMessage());
         assertEquals("USER_ERROR", errorResponse.getCode());
+        assertEquals(400, errorResponse.getStatus());
+        assertEquals("/api/v1/users/1", errorResponse.getPath());
         assertNotNull(errorResponse.getTimestamp());
     }
 
+    /**
+     * Tests handling of NotFoundException.
+     * Verifies that the handler returns a NOT_FOUND status with the status, code and path filled in,
+     * and that the shared template is not modified.
+     */
+    @Test
+    void handleNotFoundException_ShouldReturnNotFound() {
+        ResponseEntity<ErrorResponseDTO> response =
+                exceptionHandler.handleNotFoundException(new NotFoundException("User not found with ID: 1"), request);
+        ResponseEntity<ErrorResponseDTO> other = exceptionHandler.handleNotFoundException(
+                new NotFoundException("User not found with ID: 2"), MockServerHttpRequest.get("/api/v1/users/2").build());
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertNotNull(errorResponse);
+        assertEquals(404, errorResponse.getStatus());
+        assertEquals("USER_NOT_FOUND", errorResponse.getCode());
+        assertEquals("User not found with ID: 1", errorResponse.getMessage());
+        assertEquals("/api/v1/users/1", errorResponse.getPath());
+        assertNotNull(errorResponse.getTimestamp());
+        assertEquals("/api/v1/users/2", other.getBody().getPath());
+    }
+
+    /**
+     * Tests that expected-outcome exceptions are created without a stack trace.
+     */
+    @Test
+    void expectedExceptions_AreStackless() {
+        assertEquals(0, new NotFoundException("missing").getStackTrace().length);
+        assertEquals(0, new UserException("invalid").getStackTrace().length);
+    }
+
     /**
      * Tests handling of validation exceptions.
      * Verifies that the handler properly processes field validation errors
@@ -96,7 +132,7 @@ class GlobalExceptionHandlerTest {
         );
 
         // Act
-        ResponseEntity<ErrorResponseDTO> response = exceptionHandler.handleValidationException(validationException);
+        ResponseEntity<ErrorResponseDTO> response = exceptionHandler.handleValidationException(validationException, request);
 
         // Assert
         assertNotNull(response);
@@ -119,7 +155,7 @@ class GlobalExceptionHandlerTest {
         UserException userException = new UserException("Test error");
 
         // Act
-        ResponseEntity<ErrorResponseDTO> response = exceptionHandler.handleUserException(userException);
+        ResponseEntity<ErrorResponseDTO> response = exceptionHandler.handleUserException(userException, request);
 
         // Assert
         ErrorResponseDTO errorResponse = response.getBody();
@@ -151,7 +187,7 @@ class GlobalExceptionHandlerTest {
         );
 
         // Act
-        ResponseEntity<ErrorResponseDTO> response = exceptionHandler.handleValidationException(validationException);
+        ResponseEntity<ErrorResponseDTO> response = exceptionHandler.handleValidationException(validationException, request);
 
         // Assert
         assertNotNull(response);
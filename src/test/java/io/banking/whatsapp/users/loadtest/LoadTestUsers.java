@@ -0,0 +1,100 @@
+package io.banking.whatsapp.users.loadtest;
+
+import io.banking.whatsapp.users.domain.User;
+import io.banking.whatsapp.users.domain.dto.UserRequestDTO;
+import io.banking.whatsapp.users.repository.BulkInsertFailure;
+import io.banking.whatsapp.users.repository.UserRepository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deterministic user data for the load test.
+ * Every key of user {@code n} is derived from {@code n}, so requests can address any
+ * seeded user without keeping millions of keys in memory.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+final class LoadTestUsers {
+
+    private static final int SEED_CHUNK_SIZE = 10_000;
+
+    private LoadTestUsers() {
+    }
+
+    /**
+     * Returns the ID of user {@code n}, a valid ObjectId in hexadecimal form.
+     *
+     * @param n the user number
+     * @return the user ID
+     */
+    static String id(long n) {
+        return String.format("%024x", n);
+    }
+
+    /**
+     * Returns the DNI of user {@code n}.
+     *
+     * @param n the user number
+     * @return the user DNI
+     */
+    static String dni(long n) {
+        return String.format("%08d", n);
+    }
+
+    /**
+     * Creates the request body that creates or fully updates user {@code n}.
+     *
+     * @param n the user number
+     * @param firstName the first name to send
+     * @return the request body
+     */
+    static UserRequestDTO request(long n, String firstName) {
+        UserRequestDTO request = new UserRequestDTO();
+        request.setFirstName(firstName);
+        request.setLastName("Load");
+        request.setEmail("user" + n + "@loadtest.example");
+        request.setPhoneNumber(String.format("+1%010d", n));
+        request.setDni(dni(n));
+        return request;
+    }
+
+    /**
+     * Inserts users {@code 0} to {@code count - 1} directly through the repository,
+     * in unordered chunks. Users that already exist are skipped, so a database can be
+     * seeded once and reused across runs.
+     *
+     * @param userRepository the repository to insert into
+     * @param count the number of users to seed
+     * @return the number of users that already existed
+     */
+    static long seed(UserRepository userRepository, long count) {
+        Long existing = Flux.range(0, Math.toIntExact(count))
+                .map(LoadTestUsers::user)
+                .buffer(SEED_CHUNK_SIZE)
+                .concatMap(userRepository::insertAllUnordered)
+                .filter(BulkInsertFailure::isDuplicateKey)
+                .count()
+                .block();
+        return existing != null ? existing : 0;
+    }
+
+    private static User user(long n) {
+        UserRequestDTO request = request(n, "Seed");
+        LocalDateTime now = LocalDateTime.now();
+        return User.builder()
+                .id(id(n))
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .email(request.getEmail())
+                .phoneNumber(request.getPhoneNumber())
+                .dni(request.getDni())
+                .status("ACTIVE")
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,403 @@
+package io.banking.whatsapp.users.loadtest;
+
+import io.banking.whatsapp.users.BankingUsersServiceApplication;
+import io.banking.whatsapp.users.domain.dto.UserResponseDTO;
+import io.banking.whatsapp.users.repository.UserRepository;
+import io.banking.whatsapp.users.utils.PageCursors;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.rsocket.context.RSocketServerInitializedEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end throughput and latency test for the user API.
+ * Boots the service on a random port, seeds it with generated users, and drives a weighted
+ * mix of requests through the real Netty client and server stacks. Latency is recorded per
+ * endpoint in HdrHistograms and reported as p50/p99/p999 together with throughput.
+ *
+ * With a target rate the load is open-loop: requests are issued on schedule and their latency
+ * is measured from the time they were due, so queueing is not hidden (coordinated omission);
+ * requests that would exceed the concurrency limit are dropped and counted. Without a rate,
+ * each of the concurrent workers issues its next request as soon as the previous one ends.
+ *
+ * With {@code loadtest.transport=rsocket} the same mix is sent to the RSocket routes instead of
+ * the REST endpoints, over {@code loadtest.connections} multiplexed connections with CBOR payloads,
+ * so the two transports can be compared under identical load. RSocket has no paginated route,
+ * so {@code list} reads one page of the export stream and cancels it.
+ *
+ * Run with {@code mvn -Pload-test test}; settings are read from {@code loadtest.*} system properties:
+ * profile, transport, connections, seed, concurrency, rate, warmup, duration, mix and output.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+public final class UserLoadTest {
+
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Settings settings;
+    private final WebClient client;
+    private final List<RSocketRequester> requesters;
+    private final AtomicInteger nextRequester = new AtomicInteger();
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final List<Operation> mix;
+    private final AtomicLong nextCreate;
+    private final AtomicLong nextDelete;
+    private final LongAdder dropped = new LongAdder();
+    private volatile long measureFrom;
+
+    private UserLoadTest(Settings settings, WebClient client, List<RSocketRequester> requesters) {
+        this.settings = settings;
+        this.client = client;
+        this.requesters = requesters;
+        this.mix = settings.mix();
+        this.nextCreate = new AtomicLong(settings.seed());
+        this.nextDelete = new AtomicLong(settings.seed());
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args unused; settings are read from system properties
+     * @throws IOException if the histograms cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Settings settings = Settings.fromSystemProperties();
+        System.out.printf("Load test settings: %s on %d cores%n", settings, Runtime.getRuntime().availableProcessors());
+
+        AtomicInteger rsocketPort = new AtomicInteger();
+        SpringApplicationBuilder application = new SpringApplicationBuilder(BankingUsersServiceApplication.class)
+                .listeners((ApplicationListener<RSocketServerInitializedEvent>) event ->
+                        rsocketPort.set(event.getServer().address().getPort()));
+        if (!settings.profile().isBlank()) {
+            application.profiles(settings.profile());
+        }
+
+        try (ConfigurableApplicationContext context = application.run(
+                "--server.port=0",
+                "--spring.rsocket.server.port=0",
+                "--logging.level.root=WARN",
+                "--logging.level.io.banking.whatsapp=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springframework.data.mongodb=WARN")) {
+            long started = System.nanoTime();
+            long existing = LoadTestUsers.seed(context.getBean(UserRepository.class), settings.seed());
+            System.out.printf("Seeded %d users (%d already present) in %d ms%n", settings.seed(), existing,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String basePath = context.getEnvironment().getProperty("spring.webflux.base-path", "");
+            ConnectionProvider connections = ConnectionProvider.builder("load-test")
+                    .maxConnections(settings.concurrency())
+                    .pendingAcquireMaxCount(-1)
+                    .build();
+            WebClient client = WebClient.builder()
+                    .baseUrl("http://localhost:" + port + basePath + "/api/v1/users")
+                    .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                    .build();
+
+            List<RSocketRequester> requesters = new ArrayList<>();
+            if (settings.rsocket()) {
+                for (int i = 0; i < settings.connections(); i++) {
+                    requesters.add(context.getBean(RSocketRequester.Builder.class).tcp("localhost", rsocketPort.get()));
+                }
+            }
+
+            UserLoadTest loadTest = new UserLoadTest(settings, client, requesters);
+            loadTest.run();
+            loadTest.report();
+            connections.dispose();
+            requesters.forEach(RSocketRequester::dispose);
+        }
+    }
+
+    private void run() {
+        long now = System.nanoTime();
+        measureFrom = now + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+
+        if (settings.rate() > 0) {
+            runOpenLoop(now, end);
+        } else {
+            runClosedLoop(end);
+        }
+    }
+
+    private void runOpenLoop(long start, long end) {
+        double intervalNanos = 1e9 / settings.rate();
+        AtomicLong issued = new AtomicLong();
+        Flux.interval(Duration.ofMillis(1))
+                .takeWhile(tick -> System.nanoTime() < end)
+                .flatMapIterable(tick -> {
+                    long due = (long) ((System.nanoTime() - start) / intervalNanos);
+                    List<Long> intended = new ArrayList<>();
+                    for (long n = issued.get(); n < due; n++) {
+                        intended.add(start + (long) (n * intervalNanos));
+                    }
+                    issued.set(due);
+                    return intended;
+                })
+                .onBackpressureDrop(intended -> {
+                    if (intended >= measureFrom) {
+                        dropped.increment();
+                    }
+                })
+                .flatMap(this::execute, settings.concurrency())
+                .blockLast();
+    }
+
+    private void runClosedLoop(long end) {
+        Flux.range(0, settings.concurrency())
+                .flatMap(worker -> Mono.defer(() -> execute(System.nanoTime()))
+                        .repeat(() -> System.nanoTime() < end), settings.concurrency())
+                .blockLast();
+    }
+
+    private Mono<Integer> execute(long intended) {
+        Operation operation = mix.get(ThreadLocalRandom.current().nextInt(mix.size()));
+        return request(operation)
+                .onErrorReturn(-1)
+                .doOnNext(status -> stats.get(operation).record(intended, status));
+    }
+
+    private Mono<Integer> request(Operation operation) {
+        return settings.rsocket() ? rsocketRequest(operation) : httpRequest(operation);
+    }
+
+    private Mono<Integer> httpRequest(Operation operation) {
+        return switch (operation) {
+            case CREATE -> client.post()
+                    .bodyValue(LoadTestUsers.request(nextCreate.getAndIncrement(), "Created"))
+                    .exchangeToMono(UserLoadTest::status);
+            case GET_BY_ID -> client.get()
+                    .uri("/{id}", LoadTestUsers.id(randomLiveUser()))
+                    .exchangeToMono(UserLoadTest::status);
+            case GET_BY_DNI -> client.get()
+                    .uri("/dni/{dni}", LoadTestUsers.dni(randomLiveUser()))
+                    .exchangeToMono(UserLoadTest::status);
+            case UPDATE -> {
+                long n = randomLiveUser();
+                yield client.put()
+                        .uri("/{id}", LoadTestUsers.id(n))
+                        .bodyValue(LoadTestUsers.request(n, "Updated"))
+                        .exchangeToMono(UserLoadTest::status);
+            }
+            case DELETE -> client.delete()
+                    .uri("/{id}", LoadTestUsers.id(nextDelete.decrementAndGet()))
+                    .exchangeToMono(UserLoadTest::status);
+            case LIST -> client.get()
+                    .uri(builder -> builder
+                            .queryParam("size", 50)
+                            .queryParam("cursor", PageCursors.encode(LoadTestUsers.id(randomLiveUser())))
+                            .build())
+                    .exchangeToMono(UserLoadTest::status);
+        };
+    }
+
+    /**
+     * Sends the operation to the matching RSocket route. A completed request counts as 200 and a
+     * failed one, which RSocket reports as an application error, as an error.
+     */
+    private Mono<Integer> rsocketRequest(Operation operation) {
+        RSocketRequester requester = requesters.get(Math.floorMod(nextRequester.getAndIncrement(), requesters.size()));
+        Mono<?> response = switch (operation) {
+            case CREATE -> requester.route("users.create")
+                    .data(LoadTestUsers.request(nextCreate.getAndIncrement(), "Created"))
+                    .retrieveMono(UserResponseDTO.class);
+            case GET_BY_ID -> requester.route("users.by-id.{id}", LoadTestUsers.id(randomLiveUser()))
+                    .retrieveMono(UserResponseDTO.class);
+            case GET_BY_DNI -> requester.route("users.by-dni.{dni}", LoadTestUsers.dni(randomLiveUser()))
+                    .retrieveMono(UserResponseDTO.class);
+            case UPDATE -> {
+                long n = randomLiveUser();
+                yield requester.route("users.update.{id}", LoadTestUsers.id(n))
+                        .data(LoadTestUsers.request(n, "Updated"))
+                        .retrieveMono(UserResponseDTO.class);
+            }
+            case DELETE -> requester.route("users.delete.{id}", LoadTestUsers.id(nextDelete.decrementAndGet()))
+                    .retrieveMono(Void.class);
+            case LIST -> requester.route("users.export")
+                    .retrieveFlux(UserResponseDTO.class)
+                    .take(50)
+                    .then();
+        };
+        return response.then(Mono.just(200));
+    }
+
+    /**
+     * Picks a seeded user that has not been deleted. Deletes consume seeded users from the top,
+     * so every other request type addresses an existing user.
+     */
+    private long randomLiveUser() {
+        return ThreadLocalRandom.current().nextLong(Math.max(1, nextDelete.get()));
+    }
+
+    private static Mono<Integer> status(ClientResponse response) {
+        return response.releaseBody().thenReturn(response.statusCode().value());
+    }
+
+    private void report() throws IOException {
+        Path output = Path.of(settings.output());
+        Files.createDirectories(output);
+        double seconds = settings.duration().toNanos() / 1e9;
+        Histogram total = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+        long totalErrors = 0;
+
+        System.out.printf("%n%-10s %10s %10s %10s %10s %10s %10s %8s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().latencies;
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            totalErrors += entry.getValue().errors.sum();
+            printRow(entry.getKey().key, histogram, entry.getValue().errors.sum(), seconds);
+            write(output.resolve(entry.getKey().key + ".hgrm"), histogram);
+        }
+        printRow("all", total, totalErrors, seconds);
+        write(output.resolve("all.hgrm"), total);
+        if (settings.rate() > 0) {
+            System.out.printf("%nDropped %d requests that exceeded the concurrency limit of %d%n",
+                    dropped.sum(), settings.concurrency());
+        }
+        System.out.println("Latency distributions written to " + output.toAbsolutePath());
+    }
+
+    private static void printRow(String name, Histogram histogram, long errors, double seconds) {
+        System.out.printf(Locale.ROOT, "%-10s %10d %10.1f %10.3f %10.3f %10.3f %10.3f %8d%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0,
+                errors);
+    }
+
+    private static void write(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private final class Stats {
+
+        private final Histogram latencies = new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+
+        private void record(long intended, int status) {
+            if (intended < measureFrom) {
+                return;
+            }
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+            latencies.recordValue(Math.min(micros, HIGHEST_LATENCY_MICROS));
+            if (status < 200 || status >= 300) {
+                errors.increment();
+            }
+        }
+    }
+
+    private enum Operation {
+        CREATE("create"),
+        GET_BY_ID("getById"),
+        GET_BY_DNI("getByDni"),
+        UPDATE("update"),
+        DELETE("delete"),
+        LIST("list");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        private static Operation of(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation in loadtest.mix: " + key);
+        }
+    }
+
+    private record Settings(String profile, String transport, int connections, long seed, int concurrency, int rate,
+                            Duration warmup, Duration duration, String mixSpec, String output) {
+
+        private static Settings fromSystemProperties() {
+            return new Settings(
+                    System.getProperty("loadtest.profile", "in-memory"),
+                    System.getProperty("loadtest.transport", "http"),
+                    Integer.getInteger("loadtest.connections", 4),
+                    Long.getLong("loadtest.seed", 100_000),
+                    Integer.getInteger("loadtest.concurrency", 64),
+                    Integer.getInteger("loadtest.rate", 0),
+                    DurationStyle.detectAndParse(System.getProperty("loadtest.warmup", "10s")),
+                    DurationStyle.detectAndParse(System.getProperty("loadtest.duration", "30s")),
+                    System.getProperty("loadtest.mix", "getById=35,getByDni=35,list=10,create=10,update=8,delete=2"),
+                    System.getProperty("loadtest.output", "target/loadtest"));
+        }
+
+        private boolean rsocket() {
+            return switch (transport) {
+                case "http" -> false;
+                case "rsocket" -> true;
+                default -> throw new IllegalArgumentException("Unknown loadtest.transport: " + transport);
+            };
+        }
+
+        /**
+         * Expands the weighted mix into a list with one entry per unit of weight.
+         */
+        private List<Operation> mix() {
+            List<Operation> operations = new ArrayList<>();
+            for (String entry : mixSpec.split(",")) {
+                String[] parts = entry.trim().split("=");
+                Operation operation = Operation.of(parts[0].trim());
+                int weight = Integer.parseInt(parts[1].trim());
+                for (int i = 0; i < weight; i++) {
+                    operations.add(operation);
+                }
+            }
+            if (operations.isEmpty()) {
+                throw new IllegalArgumentException("loadtest.mix selects no operations");
+            }
+            return operations;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.banking.whatsapp.users.metrics;
+
+import io.banking.whatsapp.users.domain.dto.UserResponseDTO;
+import io.banking.whatsapp.users.exception.NotFoundException;
+import io.banking.whatsapp.users.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for UserServiceMetrics.
+ * Contains unit tests for timing service calls and tagging them by outcome.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+@ExtendWith(MockitoExtension.class)
+class UserServiceMetricsTest {
+
+    @Mock
+    private UserService userService;
+
+    private SimpleMeterRegistry registry;
+    private UserService metered;
+
+    /**
+     * Sets up the test environment before each test.
+     * Proxies a mocked UserService through the metrics aspect.
+     */
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(userService);
+        factory.addAspect(new UserServiceMetrics(registry));
+        metered = factory.getProxy();
+    }
+
+    /**
+     * Tests that a successful Mono is recorded with a success outcome.
+     */
+    @Test
+    void time_RecordsSuccess() {
+        when(userService.getUserById("1")).thenReturn(Mono.just(new UserResponseDTO()));
+
+        StepVerifier.create(metered.getUserById("1")).expectNextCount(1).verifyComplete();
+
+        assertEquals(1, timerCount("getUserById", "success"));
+    }
+
+    /**
+     * Tests that a not-found error is recorded with a not_found outcome.
+     */
+    @Test
+    void time_RecordsNotFound() {
+        when(userService.getUserByDni("1")).thenReturn(Mono.error(new NotFoundException("User not found with DNI: 1")));
+
+        StepVerifier.create(metered.getUserByDni("1")).expectError(NotFoundException.class).verify();
+
+        assertEquals(1, timerCount("getUserByDni", "not_found"));
+    }
+
+    /**
+     * Tests that a Flux is timed once it completes, not once per element.
+     */
+    @Test
+    void time_RecordsFluxOnCompletion() {
+        when(userService.getAllUsers(null, null)).thenReturn(Flux.just(new UserResponseDTO(), new UserResponseDTO()));
+
+        StepVerifier.create(metered.getAllUsers(null, null)).expectNextCount(2).verifyComplete();
+
+        assertEquals(1, timerCount("getAllUsers", "success"));
+    }
+
+    /**
+     * Tests that nothing is recorded until the result is subscribed to.
+     */
+    @Test
+    void time_StartsOnSubscription() {
+        when(userService.getUserById("1")).thenReturn(Mono.just(new UserResponseDTO()));
+
+        metered.getUserById("1");
+
+        assertNull(registry.find(UserServiceMetrics.TIMER).timer());
+    }
+
+    private long timerCount(String method, String outcome) {
+        return registry.get(UserServiceMetrics.TIMER).tag("method", method).tag("outcome", outcome).timer().count();
+    }
+}
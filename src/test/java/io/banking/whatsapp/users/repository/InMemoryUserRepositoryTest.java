@@ -0,0 +1,245 @@
+package io.banking.whatsapp.users.repository;
+
+import io.banking.whatsapp.users.domain.LookupType;
+import io.banking.whatsapp.users.domain.User;
+import io.banking.whatsapp.users.utils.TestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Sort;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for InMemoryUserRepository.
+ * Contains unit tests for the primary and secondary indexes, the unique constraints
+ * and the custom queries used by the user service.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+class InMemoryUserRepositoryTest {
+
+    private InMemoryUserRepository repository;
+
+    /**
+     * Sets up the test environment before each test.
+     * Creates an empty repository.
+     */
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryUserRepository();
+    }
+
+    /**
+     * Tests that saving a user without an ID assigns an ObjectId and indexes every unique key.
+     */
+    @Test
+    void save_AssignsIdAndIndexesKeys() {
+        User user = TestUtils.createTestUser(null);
+
+        User saved = repository.save(user).block();
+
+        assertNotNull(saved.getId());
+        assertEquals(24, saved.getId().length());
+        StepVerifier.create(repository.findByDni("12345678")).expectNext(saved).verifyComplete();
+        StepVerifier.create(repository.findByEmail("john.doe@example.com")).expectNext(saved).verifyComplete();
+        StepVerifier.create(repository.findByPhoneNumber("+1234567890")).expectNext(saved).verifyComplete();
+    }
+
+    /**
+     * Tests that a second user with an existing DNI is rejected.
+     */
+    @Test
+    void save_RejectsDuplicateKey() {
+        repository.save(TestUtils.createTestUser("1")).block();
+        User duplicate = TestUtils.createTestUser("2");
+        duplicate.setEmail("other@example.com");
+        duplicate.setPhoneNumber("+1987654321");
+
+        StepVerifier.create(repository.save(duplicate))
+                .expectError(DuplicateKeyException.class)
+                .verify();
+        StepVerifier.create(repository.findById("2")).verifyComplete();
+    }
+
+    /**
+     * Tests that returned users are copies that do not change stored state.
+     */
+    @Test
+    void findById_ReturnsCopy() {
+        repository.save(TestUtils.createTestUser("1")).block();
+
+        repository.findById("1").block().setFirstName("Changed");
+
+        assertEquals("John", repository.findById("1").block().getFirstName());
+    }
+
+    /**
+     * Tests that changing a unique key releases the old one.
+     */
+    @Test
+    void updateFields_MovesSecondaryIndex() {
+        repository.save(TestUtils.createTestUser("1")).block();
+
+        User updated = repository.updateFields("1", Map.of("dni", "87654321")).block();
+
+        assertEquals("87654321", updated.getDni());
+        StepVerifier.create(repository.findByDni("12345678")).verifyComplete();
+        StepVerifier.create(repository.findByDni("87654321")).expectNextCount(1).verifyComplete();
+    }
+
+    /**
+     * Tests that a conditional update matching the stored values writes nothing.
+     */
+    @Test
+    void updateFieldsIfChanged_SkipsNoOp() {
+        repository.save(TestUtils.createTestUser("1")).block();
+        LocalDateTime later = LocalDateTime.now().plusDays(1);
+
+        StepVerifier.create(repository.updateFieldsIfChanged("1", Map.of("firstName", "John"), later))
+                .verifyComplete();
+        StepVerifier.create(repository.updateFieldsIfChanged("1", Map.of("firstName", "Jane"), later))
+                .assertNext(user -> assertEquals(later, user.getUpdatedAt()))
+                .verifyComplete();
+    }
+
+    /**
+     * Tests that versions start at 0, are incremented by updates, and guard conditional updates.
+     */
+    @Test
+    void updateFieldsIfVersion_RejectsStaleVersion() {
+        assertEquals(0L, repository.save(TestUtils.createTestUser("1")).block().getVersion());
+        assertEquals(1L, repository.updateFields("1", Map.of("firstName", "Jane")).block().getVersion());
+
+        StepVerifier.create(repository.updateFieldsIfVersion("1", Map.of("firstName", "Ann"), 0L))
+                .verifyComplete();
+        StepVerifier.create(repository.updateFieldsIfVersion("1", Map.of("firstName", "Ann"), 1L))
+                .assertNext(user -> {
+                    assertEquals("Ann", user.getFirstName());
+                    assertEquals(2L, user.getVersion());
+                })
+                .verifyComplete();
+        StepVerifier.create(repository.updateFieldsIfVersion("2", Map.of("firstName", "Ann"), 0L))
+                .verifyComplete();
+    }
+
+    /**
+     * Tests that an unordered insert writes every valid user and reports duplicates by index.
+     */
+    @Test
+    void insertAllUnordered_ReportsDuplicates() {
+        User first = TestUtils.createTestUser(null);
+        User duplicate = TestUtils.createTestUser(null);
+        User second = TestUtils.createTestUser(null);
+        second.setDni("87654321");
+        second.setEmail("jane@example.com");
+        second.setPhoneNumber("+1987654321");
+
+        StepVerifier.create(repository.insertAllUnordered(List.of(first, duplicate, second)))
+                .assertNext(failure -> {
+                    assertEquals(1, failure.getIndex());
+                    assertTrue(failure.isDuplicateKey());
+                })
+                .verifyComplete();
+        StepVerifier.create(repository.count()).expectNext(2L).verifyComplete();
+    }
+
+    /**
+     * Tests keyset pagination over the ID order with a status filter.
+     */
+    @Test
+    void findPage_PagesInIdOrder() {
+        for (String id : List.of("65f9c1a2b3c4d5e6f7a89b03", "65f9c1a2b3c4d5e6f7a89b01", "65f9c1a2b3c4d5e6f7a89b02")) {
+            User user = TestUtils.createTestUser(id);
+            user.setDni(id);
+            user.setEmail(id + "@example.com");
+            user.setPhoneNumber("+1" + id.substring(id.length() - 2) + "0000000");
+            repository.save(user).block();
+        }
+
+        StepVerifier.create(repository.findPage("ACTIVE", "65f9c1a2b3c4d5e6f7a89b01", 1, Set.of("firstName")))
+                .assertNext(user -> {
+                    assertEquals("65f9c1a2b3c4d5e6f7a89b02", user.getId());
+                    assertEquals("John", user.getFirstName());
+                    assertNull(user.getDni());
+                })
+                .verifyComplete();
+    }
+
+    /**
+     * Tests that deleting a user frees its unique keys.
+     */
+    @Test
+    void deleteUserById_ReleasesKeys() {
+        repository.save(TestUtils.createTestUser("1")).block();
+
+        StepVerifier.create(repository.deleteUserById("1")).expectNext(1L).verifyComplete();
+        StepVerifier.create(repository.deleteUserById("1")).expectNext(0L).verifyComplete();
+        StepVerifier.create(repository.findOneProjected(LookupType.DNI, "12345678", Set.of("id"))).verifyComplete();
+        StepVerifier.create(repository.save(TestUtils.createTestUser("2"))).expectNextCount(1).verifyComplete();
+    }
+
+    /**
+     * Tests that saving a user with an outdated version is rejected and leaves the stored user unchanged.
+     */
+    @Test
+    void save_RejectsStaleVersion() {
+        User saved = repository.save(TestUtils.createTestUser("1")).block();
+        assertEquals(0L, saved.getVersion());
+        repository.save(saved).block();
+        assertEquals(1L, saved.getVersion());
+
+        User stale = TestUtils.createTestUser("1");
+        stale.setVersion(0L);
+        stale.setFirstName("Stale");
+
+        StepVerifier.create(repository.save(stale))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+        StepVerifier.create(repository.save(TestUtils.createTestUser("1")))
+                .expectError(DuplicateKeyException.class)
+                .verify();
+        assertEquals("John", repository.findById("1").block().getFirstName());
+    }
+
+    /**
+     * Tests that users are returned in the requested order, with ties broken by the next order.
+     */
+    @Test
+    void findAll_SortsByProperties() {
+        for (String id : List.of("1", "2", "3")) {
+            User user = TestUtils.createTestUser(id);
+            user.setEmail(id + "@example.com");
+            user.setPhoneNumber("+123456789" + id);
+            user.setDni("1234567" + id);
+            user.setLastName(id.equals("2") ? "Adams" : "Smith");
+            repository.save(user).block();
+        }
+
+        StepVerifier.create(repository.findAll(Sort.by(Sort.Order.asc("lastName"), Sort.Order.desc("id")))
+                        .map(User::getId))
+                .expectNext("2", "3", "1")
+                .verifyComplete();
+    }
+
+    /**
+     * Tests that query by example fails with a clear exception instead of returning wrong results.
+     */
+    @Test
+    void findAllByExample_IsUnsupported() {
+        UnsupportedOperationException ex = assertThrows(UnsupportedOperationException.class,
+                () -> repository.findAll(Example.of(TestUtils.createTestUser(null))));
+        assertTrue(ex.getMessage().contains("Query by example"));
+    }
+}
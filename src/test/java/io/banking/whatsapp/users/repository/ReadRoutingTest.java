@@ -0,0 +1,70 @@
+package io.banking.whatsapp.users.repository;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.TaggableReadPreference;
+import io.banking.whatsapp.users.config.UserReadProperties;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ReadRouting.
+ * Contains unit tests for building the configured read preference and pinning reads to the primary.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+class ReadRoutingTest {
+
+    private final ReadPreference configured = ReadPreference.nearest();
+
+    /**
+     * Tests that reads use the configured preference unless pinned to the primary.
+     */
+    @Test
+    void resolve_UsesPrimaryOnlyWhenPinned() {
+        Mono<ReadPreference> read = Mono.deferContextual(context -> Mono.just(ReadRouting.resolve(context, configured)));
+        Flux<ReadPreference> reads = Flux.deferContextual(context -> Flux.just(ReadRouting.resolve(context, configured)));
+
+        StepVerifier.create(read).expectNext(configured).verifyComplete();
+        StepVerifier.create(ReadRouting.onPrimary(read)).expectNext(ReadPreference.primary()).verifyComplete();
+        StepVerifier.create(ReadRouting.onPrimary(reads)).expectNext(ReadPreference.primary()).verifyComplete();
+    }
+
+    /**
+     * Tests that the configured preference name and maximum staleness are applied.
+     */
+    @Test
+    void readPreference_BuildsConfiguredPreference() {
+        UserReadProperties properties = new UserReadProperties();
+        assertEquals(ReadPreference.primary(), ReadRouting.readPreference(properties));
+
+        properties.setPreference("secondaryPreferred");
+        properties.setMaxStaleness(Duration.ofSeconds(120));
+        ReadPreference preference = ReadRouting.readPreference(properties);
+
+        assertEquals("secondaryPreferred", preference.getName());
+        assertEquals(120L, ((TaggableReadPreference) preference).getMaxStaleness(TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests that unknown preferences and a maximum staleness on the primary are rejected.
+     */
+    @Test
+    void readPreference_RejectsInvalidConfiguration() {
+        UserReadProperties properties = new UserReadProperties();
+        properties.setPreference("anywhere");
+        assertThrows(IllegalArgumentException.class, () -> ReadRouting.readPreference(properties));
+
+        properties.setPreference("primary");
+        properties.setMaxStaleness(Duration.ofSeconds(120));
+        assertThrows(IllegalArgumentException.class, () -> ReadRouting.readPreference(properties));
+    }
+}
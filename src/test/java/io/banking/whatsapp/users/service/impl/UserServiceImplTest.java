@@ -1,24 +1,59 @@
 package io.banking.whatsapp.users.service.impl;
 
+import io.banking.whatsapp.users.cache.RecentWrites;
+import io.banking.whatsapp.users.cache.UserBloomFilter;
+import io.banking.whatsapp.users.cache.UserCache;
+import io.banking.whatsapp.users.cache.UserLookupBatcher;
+import io.banking.whatsapp.users.cache.UserLookupCoalescer;
+import io.banking.whatsapp.users.config.UserBatchProperties;
+import io.banking.whatsapp.users.config.UserBloomFilterProperties;
+import io.banking.whatsapp.users.config.UserCacheProperties;
+import io.banking.whatsapp.users.config.UserExportProperties;
+import io.banking.whatsapp.users.config.UserLookupProperties;
+import io.banking.whatsapp.users.config.UserPaginationProperties;
+import io.banking.whatsapp.users.config.UserReadProperties;
+import io.banking.whatsapp.users.domain.LookupType;
 import io.banking.whatsapp.users.domain.User;
+import io.banking.whatsapp.users.domain.dto.UserBulkDeleteRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserLookupRequestDTO;
+import io.banking.whatsapp.users.domain.dto.UserPatchRequestDTO;
 import io.banking.whatsapp.users.domain.dto.UserRequestDTO;
 import io.banking.whatsapp.users.domain.dto.UserResponseDTO;
 import io.banking.whatsapp.users.domain.mapper.UserMapper;
 import io.banking.whatsapp.users.exception.NotFoundException;
+import io.banking.whatsapp.users.exception.PreconditionFailedException;
+import io.banking.whatsapp.users.exception.UserException;
+import io.banking.whatsapp.users.repository.BulkInsertFailure;
+import io.banking.whatsapp.users.repository.ReadRouting;
 import io.banking.whatsapp.users.repository.UserRepository;
+import io.banking.whatsapp.users.utils.PageCursors;
+import io.banking.whatsapp.users.utils.TestUtils;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import com.mongodb.ReadPreference;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 /**
@@ -40,7 +75,14 @@ class UserServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
-    @InjectMocks
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private UserCache userCache;
+
+    private final UserBloomFilterProperties bloomFilterProperties = new UserBloomFilterProperties();
+
+    private UserBloomFilter bloomFilter;
+
     private UserServiceImpl userService;
 
     private User user;
@@ -53,6 +95,8 @@ class UserServiceImplTest {
      */
     @BeforeEach
     void setUp() {
+        userService = newUserService(new UserBatchProperties());
+
         LocalDateTime now = LocalDateTime.now();
         user = User.builder()
                 .id("1")
@@ -102,6 +146,29 @@ class UserServiceImplTest {
         verify(userMapper).toDto(user);
     }
 
+    /**
+     * Tests bulk user creation with a mix of valid, invalid and duplicate users.
+     * Verifies that one result is returned per user, in order, and that invalid users are not written.
+     */
+    @Test
+    void createUsers_ReportsPerItemResults() {
+        UserRequestDTO invalidRequest = new UserRequestDTO();
+        invalidRequest.setEmail("not-an-email");
+        when(userMapper.toEntity(any(UserRequestDTO.class))).thenAnswer(invocation -> User.builder().build());
+        when(userRepository.insertAllUnordered(anyList()))
+                .thenReturn(Flux.just(new BulkInsertFailure(1, BulkInsertFailure.DUPLICATE_KEY_CODE, "E11000")));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
+
+        StepVerifier.create(userService.createUsers(Flux.just(userRequestDTO, invalidRequest, userRequestDTO)))
+                .expectNextMatches(r -> r.getIndex() == 0 && r.isSuccess() && r.getUser() == userResponseDTO)
+                .expectNextMatches(r -> r.getIndex() == 1 && !r.isSuccess() && r.getCode().equals("VALIDATION_ERROR"))
+                .expectNextMatches(r -> r.getIndex() == 2 && !r.isSuccess() && r.getCode().equals("DUPLICATE_KEY"))
+                .verifyComplete();
+
+        verify(userMapper, times(2)).toEntity(userRequestDTO);
+        verify(userRepository).insertAllUnordered(argThat(users -> users.size() == 2));
+    }
+
     /**
      * Tests successful user retrieval by ID.
      * Verifies that the service properly retrieves and maps an existing user.
@@ -135,6 +202,68 @@ class UserServiceImplTest {
         verify(userMapper, never()).toDto(any());
     }
 
+    /**
+     * Tests that a repeated lookup by ID is served from the cache.
+     * Verifies that the repository is queried only once.
+     */
+    @Test
+    void getUserById_SecondCallServedFromCache() {
+        when(userRepository.findById("1")).thenReturn(Mono.just(user));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
+
+        StepVerifier.create(userService.getUserById("1"))
+                .expectNext(userResponseDTO)
+                .verifyComplete();
+        StepVerifier.create(userService.getUserById("1"))
+                .expectNext(userResponseDTO)
+                .verifyComplete();
+
+        verify(userRepository, times(1)).findById("1");
+    }
+
+    /**
+     * Tests user retrieval by ID with a field projection.
+     * Verifies that only the requested fields are read from the database and returned,
+     * and that the partial user is not cached.
+     */
+    @Test
+    void getUserById_WithFieldsReadsProjection() {
+        Set<String> fields = Set.of("firstName", "status");
+        when(userRepository.findOneProjected(LookupType.ID, "1", fields)).thenReturn(Mono.just(user));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
+
+        StepVerifier.create(userService.getUserById("1", fields))
+                .assertNext(response -> {
+                    assertNull(response.getId());
+                    assertNull(response.getEmail());
+                    assertEquals("John", response.getFirstName());
+                    assertEquals("ACTIVE", response.getStatus());
+                })
+                .verifyComplete();
+
+        verify(userRepository, never()).findById(anyString());
+        assertNull(userCache.peek(LookupType.ID, "1"));
+    }
+
+    /**
+     * Tests that a projected lookup is served from a fully cached user.
+     * Verifies that the database is not queried.
+     */
+    @Test
+    void getUserById_WithFieldsServedFromCache() {
+        userCache.put(user);
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
+
+        StepVerifier.create(userService.getUserById("1", Set.of("id")))
+                .assertNext(response -> {
+                    assertEquals("1", response.getId());
+                    assertNull(response.getFirstName());
+                })
+                .verifyComplete();
+
+        verify(userRepository, never()).findOneProjected(any(), any(), any());
+    }
+
     /**
      * Tests successful user retrieval by DNI.
      * Verifies that the service properly retrieves and maps a user by DNI.
@@ -168,42 +297,234 @@ class UserServiceImplTest {
         verify(userMapper, never()).toDto(any());
     }
 
+    /**
+     * Tests successful user retrieval by phone number.
+     * Verifies that the phone number is normalized to E.164 before the lookup.
+     */
+    @Test
+    void getUserByPhoneNumber_Success() {
+        when(userRepository.findByPhoneNumber("+1234567890")).thenReturn(Mono.just(user));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
+
+        StepVerifier.create(userService.getUserByPhoneNumber("+1 (234) 567-890"))
+                .expectNext(userResponseDTO)
+                .verifyComplete();
+
+        verify(userRepository).findByPhoneNumber("+1234567890");
+    }
+
+    /**
+     * Tests user retrieval by a digit-only phone number, as WhatsApp sends them.
+     * Verifies that the number is read as starting with its country code.
+     */
+    @Test
+    void getUserByPhoneNumber_DigitsOnly() {
+        when(userRepository.findByPhoneNumber("+1234567890")).thenReturn(Mono.just(user));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
+
+        StepVerifier.create(userService.getUserByPhoneNumber("1234567890"))
+                .expectNext(userResponseDTO)
+                .verifyComplete();
+
+        verify(userRepository).findByPhoneNumber("+1234567890");
+    }
+
+    /**
+     * Tests user retrieval by phone number when user is not found.
+     * Verifies that the service properly handles the not found scenario.
+     */
+    @Test
+    void getUserByPhoneNumber_NotFound() {
+        when(userRepository.findByPhoneNumber("+1234567890")).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.getUserByPhoneNumber("+1234567890"))
+                .expectError(NotFoundException.class)
+                .verify();
+    }
+
+    /**
+     * Tests user retrieval by an invalid phone number.
+     * Verifies that the service rejects it without querying the database.
+     */
+    @Test
+    void getUserByPhoneNumber_InvalidNumber() {
+        StepVerifier.create(userService.getUserByPhoneNumber("not-a-number"))
+                .expectError(UserException.class)
+                .verify();
+
+        verify(userRepository, never()).findByPhoneNumber(any());
+    }
+
+    /**
+     * Tests batch lookup across every key type.
+     * Verifies that results come back in request order, with duplicates and not-found markers preserved,
+     * and that each key type is resolved with a single query over its distinct keys.
+     */
+    @Test
+    void lookupUsers_ReturnsResultsInRequestOrder() {
+        UserLookupRequestDTO request = new UserLookupRequestDTO();
+        request.setIds(List.of("1", "missing", "1"));
+        request.setDnis(List.of("12345678"));
+        request.setPhoneNumbers(List.of("+1-234-567-890", "invalid"));
+
+        when(userRepository.findAllById(List.of("1", "missing"))).thenReturn(Flux.just(user));
+        when(userRepository.findByDniIn(List.of("12345678"))).thenReturn(Flux.just(user));
+        when(userRepository.findByPhoneNumberIn(List.of("+1234567890"))).thenReturn(Flux.empty());
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
+
+        StepVerifier.create(userService.lookupUsers(request))
+                .expectNextMatches(r -> r.getType() == LookupType.ID && r.getKey().equals("1") && r.isFound())
+                .expectNextMatches(r -> r.getKey().equals("missing") && !r.isFound() && r.getUser() == null)
+                .expectNextMatches(r -> r.getKey().equals("1") && r.isFound())
+                .expectNextMatches(r -> r.getType() == LookupType.DNI && r.isFound())
+                .expectNextMatches(r -> r.getType() == LookupType.PHONE_NUMBER && r.getKey().equals("+1-234-567-890") && !r.isFound())
+                .expectNextMatches(r -> r.getKey().equals("invalid") && !r.isFound())
+                .verifyComplete();
+
+        verify(userRepository, times(1)).findAllById(anyIterable());
+    }
+
+    /**
+     * Tests batch lookup with more keys than allowed.
+     * Verifies that the request is rejected without querying the database.
+     */
+    @Test
+    void lookupUsers_TooManyKeys() {
+        UserBatchProperties batchProperties = new UserBatchProperties();
+        batchProperties.setMaxLookupKeys(1);
+        userService = newUserService(batchProperties);
+        UserLookupRequestDTO request = new UserLookupRequestDTO();
+        request.setIds(List.of("1", "2"));
+
+        StepVerifier.create(userService.lookupUsers(request))
+                .expectError(UserException.class)
+                .verify();
+
+        verify(userRepository, never()).findAllById(anyIterable());
+    }
+
     /**
      * Tests successful retrieval of all users.
      * Verifies that the service properly retrieves and maps multiple users.
      */
     @Test
     void getAllUsers_Success() {
-        when(userRepository.findAll()).thenReturn(Flux.just(user));
+        when(userRepository.streamAll("ACTIVE", 500, null)).thenReturn(Flux.just(user));
         when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
 
-        StepVerifier.create(userService.getAllUsers())
+        StepVerifier.create(userService.getAllUsers("active", null))
                 .expectNext(userResponseDTO)
                 .verifyComplete();
 
-        verify(userRepository).findAll();
+        verify(userRepository).streamAll("ACTIVE", 500, null);
         verify(userMapper).toDto(user);
     }
 
+    /**
+     * Tests retrieval of a page of users when more users exist.
+     * Verifies that one extra user is requested and that a cursor for the next page is returned.
+     */
+    @Test
+    void getUsers_ReturnsNextCursorWhenMoreUsersExist() {
+        User second = TestUtils.createTestUser("65f9c1a2b3c4d5e6f7a89b0c");
+        User third = TestUtils.createTestUser("65f9c1a2b3c4d5e6f7a89b0d");
+        when(userRepository.findPage("ACTIVE", null, 3, null)).thenReturn(Flux.just(user, second, third));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
+
+        StepVerifier.create(userService.getUsers(2, null, "active", null))
+                .expectNextMatches(page -> page.getItems().size() == 2
+                        && "65f9c1a2b3c4d5e6f7a89b0c".equals(PageCursors.decode(page.getNextCursor())))
+                .verifyComplete();
+    }
+
+    /**
+     * Tests retrieval of the last page of users.
+     * Verifies that the page continues after the cursor and has no next cursor.
+     */
+    @Test
+    void getUsers_LastPageHasNoCursor() {
+        String cursor = PageCursors.encode("65f9c1a2b3c4d5e6f7a89b0c");
+        when(userRepository.findPage(null, "65f9c1a2b3c4d5e6f7a89b0c", 51, null)).thenReturn(Flux.just(user));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
+
+        StepVerifier.create(userService.getUsers(null, cursor, null, null))
+                .expectNextMatches(page -> page.getItems().size() == 1 && page.getNextCursor() == null)
+                .verifyComplete();
+    }
+
+    /**
+     * Tests retrieval of a page with a malformed cursor.
+     * Verifies that the request is rejected without querying the database.
+     */
+    @Test
+    void getUsers_InvalidCursor() {
+        StepVerifier.create(userService.getUsers(10, "not-a-cursor", null, null))
+                .expectError(UserException.class)
+                .verify();
+
+        verify(userRepository, never()).findPage(any(), any(), anyInt(), any());
+    }
+
     /**
      * Tests successful user update.
-     * Verifies that the service properly updates and saves existing user data.
+     * Verifies that the request fields, the status set by the mapper and the modification timestamp
+     * are written in a single atomic update, without reading the user first and without touching
+     * the creation timestamp.
      */
     @Test
     void updateUser_Success() {
-        when(userRepository.findById("1")).thenReturn(Mono.just(user));
         when(userMapper.toEntity(any(UserRequestDTO.class))).thenReturn(user);
-        when(userRepository.save(any(User.class))).thenReturn(Mono.just(user));
+        when(userRepository.updateFields(eq("1"), anyMap())).thenReturn(Mono.just(user));
         when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
 
         StepVerifier.create(userService.updateUser("1", userRequestDTO))
                 .expectNext(userResponseDTO)
                 .verifyComplete();
 
-        verify(userRepository).findById("1");
         verify(userMapper).toEntity(userRequestDTO);
-        verify(userRepository).save(any(User.class));
-        verify(userMapper).toDto(any(User.class));
+        verify(userRepository).updateFields(eq("1"), argThat(fields ->
+                fields.get("dni").equals("12345678")
+                        && "ACTIVE".equals(fields.get("status"))
+                        && fields.get("updatedAt") != null
+                        && !fields.containsKey("createdAt")));
+        verify(userRepository, never()).findById(any(String.class));
+        verify(userRepository, never()).save(any());
+        verify(userMapper).toDto(user);
+    }
+
+    /**
+     * Tests that an update refreshes the cached user.
+     * Verifies that a lookup after the update returns the updated user without querying the database,
+     * and that the previous DNI no longer resolves from the cache.
+     */
+    @Test
+    void updateUser_RefreshesCache() {
+        User updatedUser = User.builder()
+                .id("1")
+                .dni("87654321")
+                .firstName("Jane")
+                .build();
+        when(userRepository.findById("1")).thenReturn(Mono.just(user));
+        when(userMapper.toEntity(any(UserRequestDTO.class))).thenReturn(updatedUser);
+        when(userRepository.updateFields(eq("1"), anyMap())).thenReturn(Mono.just(updatedUser));
+        when(userRepository.findByDni("12345678")).thenReturn(Mono.empty());
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
+
+        StepVerifier.create(userService.getUserById("1"))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(userService.updateUser("1", userRequestDTO))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(userService.getUserByDni("87654321"))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(userService.getUserByDni("12345678"))
+                .expectError(NotFoundException.class)
+                .verify();
+
+        verify(userRepository, never()).findByDni("87654321");
+        verify(userRepository).findByDni("12345678");
     }
 
     /**
@@ -212,43 +533,149 @@ class UserServiceImplTest {
      */
     @Test
     void updateUser_NotFound() {
-        when(userRepository.findById("1")).thenReturn(Mono.empty());
+        when(userMapper.toEntity(any(UserRequestDTO.class))).thenReturn(user);
+        when(userRepository.updateFields(eq("1"), anyMap())).thenReturn(Mono.empty());
 
         StepVerifier.create(userService.updateUser("1", userRequestDTO))
                 .expectError(NotFoundException.class)
                 .verify();
 
+        verify(userRepository).updateFields(eq("1"), anyMap());
+        verify(userMapper, never()).toDto(any());
+    }
+
+    /**
+     * Tests a conditional update.
+     * Verifies that the expected version is passed to the write, with no read beforehand,
+     * and that a stale version fails the precondition.
+     */
+    @Test
+    void updateUser_IfVersion() {
+        when(userMapper.toEntity(any(UserRequestDTO.class))).thenReturn(user);
+        when(userRepository.updateFieldsIfVersion(eq("1"), anyMap(), eq(3L))).thenReturn(Mono.just(user));
+        when(userRepository.updateFieldsIfVersion(eq("1"), anyMap(), eq(2L))).thenReturn(Mono.empty());
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
+
+        StepVerifier.create(userService.updateUser("1", userRequestDTO, 3L))
+                .expectNext(userResponseDTO)
+                .verifyComplete();
+        StepVerifier.create(userService.updateUser("1", userRequestDTO, 2L))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+
+        verify(userRepository, never()).findById(any(String.class));
+        verify(userRepository, never()).updateFields(any(), anyMap());
+    }
+
+    /**
+     * Tests that the cached ETag of a user is returned without a query,
+     * and that nothing is returned for a user that is not cached.
+     */
+    @Test
+    void getCachedETag_FromCache() {
+        user.setVersion(4L);
+        when(userRepository.findById("1")).thenReturn(Mono.just(user));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
+
+        StepVerifier.create(userService.getCachedETag(LookupType.DNI, "12345678")).verifyComplete();
+        StepVerifier.create(userService.getUserById("1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(userService.getCachedETag(LookupType.ID, "1"))
+                .expectNext("\"1-4\"")
+                .verifyComplete();
+        StepVerifier.create(userService.getCachedETag(LookupType.PHONE_NUMBER, "+1 234 567 890"))
+                .expectNext("\"1-4\"")
+                .verifyComplete();
+
         verify(userRepository).findById("1");
-        verify(userMapper, never()).toEntity(any());
-        verify(userRepository, never()).save(any());
+    }
+
+    /**
+     * Tests a partial update that changes a field.
+     * Verifies that only the provided fields are written, with the phone number normalized.
+     */
+    @Test
+    void patchUser_WritesOnlyProvidedFields() {
+        UserPatchRequestDTO patch = new UserPatchRequestDTO();
+        patch.setPhoneNumber("+1 234 567 891");
+        patch.setStatus("INACTIVE");
+        when(userRepository.updateFieldsIfChanged(eq("1"), anyMap(), any(LocalDateTime.class))).thenReturn(Mono.just(user));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
+
+        StepVerifier.create(userService.patchUser("1", patch))
+                .expectNext(userResponseDTO)
+                .verifyComplete();
+
+        verify(userRepository).updateFieldsIfChanged(eq("1"),
+                eq(Map.of("phoneNumber", "+1234567891", "status", "INACTIVE")), any(LocalDateTime.class));
+        verify(userRepository, never()).findById(any(String.class));
+    }
+
+    /**
+     * Tests a partial update whose values already match the stored user.
+     * Verifies that the current user is returned without error when nothing was written.
+     */
+    @Test
+    void patchUser_NoOpReturnsCurrentUser() {
+        UserPatchRequestDTO patch = new UserPatchRequestDTO();
+        patch.setFirstName("John");
+        when(userRepository.updateFieldsIfChanged(eq("1"), anyMap(), any(LocalDateTime.class))).thenReturn(Mono.empty());
+        when(userRepository.findById("1")).thenReturn(Mono.just(user));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
+
+        StepVerifier.create(userService.patchUser("1", patch))
+                .expectNext(userResponseDTO)
+                .verifyComplete();
+
+        verify(userRepository).findById("1");
+    }
+
+    /**
+     * Tests an empty partial update.
+     * Verifies that no write is attempted.
+     */
+    @Test
+    void patchUser_EmptyRequestSkipsWrite() {
+        when(userRepository.findById("1")).thenReturn(Mono.just(user));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
+
+        StepVerifier.create(userService.patchUser("1", new UserPatchRequestDTO()))
+                .expectNext(userResponseDTO)
+                .verifyComplete();
+
+        verify(userRepository, never()).updateFieldsIfChanged(any(), anyMap(), any());
+    }
+
+    /**
+     * Tests a partial update when the user is not found.
+     * Verifies that the service properly handles the not found scenario.
+     */
+    @Test
+    void patchUser_NotFound() {
+        UserPatchRequestDTO patch = new UserPatchRequestDTO();
+        patch.setFirstName("Jane");
+        when(userRepository.updateFieldsIfChanged(eq("1"), anyMap(), any(LocalDateTime.class))).thenReturn(Mono.empty());
+        when(userRepository.findById("1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.patchUser("1", patch))
+                .expectError(NotFoundException.class)
+                .verify();
     }
 
     /**
      * Test successful user deletion when the user exists.
+     * Verifies that the user is deleted without being read first.
      */
     @Test
     void deleteUser_WhenUserExists_ShouldDelete() {
         String userId = "existingId";
-        User existingUser = User.builder()
-            .id(userId)
-            .firstName("John")
-            .lastName("Doe")
-            .email("john.doe@example.com")
-            .phoneNumber("+1234567890")
-            .dni("12345678")
-            .status("ACTIVE")
-            .createdAt(LocalDateTime.now())
-            .updatedAt(LocalDateTime.now())
-            .build();
-
-        when(userRepository.findById(userId)).thenReturn(Mono.just(existingUser));
-        when(userRepository.deleteById(userId)).thenReturn(Mono.empty());
+
+        when(userRepository.deleteUserById(userId)).thenReturn(Mono.just(1L));
 
         StepVerifier.create(userService.deleteUser(userId))
                 .verifyComplete();
 
-        verify(userRepository).findById(userId);
-        verify(userRepository).deleteById(userId);
+        verify(userRepository).deleteUserById(userId);
+        verify(userRepository, never()).findById(userId);
     }
 
     /**
@@ -258,7 +685,7 @@ class UserServiceImplTest {
     void deleteUser_WhenUserNotExists_ShouldThrowNotFoundException() {
         String userId = "nonExistingId";
         
-        when(userRepository.findById(userId)).thenReturn(Mono.empty());
+        when(userRepository.deleteUserById(userId)).thenReturn(Mono.just(0L));
 
         StepVerifier.create(userService.deleteUser(userId))
                 .expectErrorMatches(throwable -> 
@@ -266,7 +693,159 @@ class UserServiceImplTest {
                     throwable.getMessage().equals("User not found with ID: " + userId))
                 .verify();
 
-        verify(userRepository).findById(userId);
-        verify(userRepository, never()).deleteById(userId);
+        verify(userRepository).deleteUserById(userId);
+    }
+
+    /**
+     * Tests that deleting a user evicts it from the cache.
+     * Verifies that a lookup after the deletion goes back to the database.
+     */
+    @Test
+    void deleteUser_EvictsCachedUser() {
+        when(userRepository.findById("1")).thenReturn(Mono.just(user), Mono.empty());
+        when(userRepository.deleteUserById("1")).thenReturn(Mono.just(1L));
+        when(userMapper.toDto(any(User.class))).thenReturn(userResponseDTO);
+
+        StepVerifier.create(userService.getUserById("1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(userService.deleteUser("1")).verifyComplete();
+        StepVerifier.create(userService.getUserById("1")).expectError(NotFoundException.class).verify();
+
+        verify(userRepository, times(2)).findById("1");
+    }
+
+    /**
+     * Tests bulk deletion of users.
+     * Verifies that duplicate IDs are removed, that IDs are deleted in chunks,
+     * and that the deleted counts of every chunk are added up.
+     */
+    @Test
+    void deleteUsers_DeletesInChunks() {
+        UserBatchProperties batchProperties = new UserBatchProperties();
+        batchProperties.setChunkSize(2);
+        userService = newUserService(batchProperties);
+        UserBulkDeleteRequestDTO request = new UserBulkDeleteRequestDTO();
+        request.setIds(List.of("1", "2", "2", "3"));
+
+        when(userRepository.deleteUsersByIdIn(List.of("1", "2"))).thenReturn(Mono.just(2L));
+        when(userRepository.deleteUsersByIdIn(List.of("3"))).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(userService.deleteUsers(request))
+                .expectNextMatches(result -> result.getRequested() == 3 && result.getDeleted() == 2)
+                .verifyComplete();
+    }
+
+    /**
+     * Tests bulk deletion with more IDs than allowed.
+     * Verifies that the request is rejected without deleting anything.
+     */
+    @Test
+    void deleteUsers_TooManyIds() {
+        UserBatchProperties batchProperties = new UserBatchProperties();
+        batchProperties.setMaxDeleteIds(1);
+        userService = newUserService(batchProperties);
+        UserBulkDeleteRequestDTO request = new UserBulkDeleteRequestDTO();
+        request.setIds(List.of("1", "2"));
+
+        StepVerifier.create(userService.deleteUsers(request))
+                .expectError(UserException.class)
+                .verify();
+
+        verify(userRepository, never()).deleteUsersByIdIn(any());
+    }
+
+    /**
+     * Tests that reads of a user created by this instance are pinned to the primary
+     * while other reads use the configured secondary read preference.
+     */
+    @Test
+    void createUser_PinsReadsOfCreatedUserToPrimary() {
+        UserCacheProperties cacheProperties = new UserCacheProperties();
+        cacheProperties.setEnabled(false);
+        UserReadProperties readProperties = new UserReadProperties();
+        readProperties.setPreference("secondaryPreferred");
+        userService = newUserService(new UserBatchProperties(), cacheProperties, readProperties);
+        ReadPreference secondary = ReadPreference.secondaryPreferred();
+
+        when(userMapper.toEntity(userRequestDTO)).thenReturn(user);
+        when(userRepository.save(user)).thenReturn(Mono.just(user));
+        when(userRepository.findById(anyString())).thenAnswer(invocation -> Mono.deferContextual(context ->
+                Mono.just(ReadRouting.resolve(context, secondary) == ReadPreference.primary() ? user : new User())));
+        when(userMapper.toDto(any(User.class))).thenAnswer(invocation -> {
+            UserResponseDTO response = new UserResponseDTO();
+            response.setId(invocation.<User>getArgument(0).getId());
+            return response;
+        });
+
+        StepVerifier.create(userService.createUser(userRequestDTO)).expectNextCount(1).verifyComplete();
+
+        StepVerifier.create(userService.getUserById(user.getId()))
+                .expectNextMatches(response -> user.getId().equals(response.getId()))
+                .verifyComplete();
+        StepVerifier.create(userService.getUserById("other"))
+                .expectNextMatches(response -> response.getId() == null)
+                .verifyComplete();
+    }
+
+    /**
+     * Tests that repeated lookups of an unknown DNI query the database once,
+     * and that creating a user with that DNI makes it visible immediately.
+     */
+    @Test
+    void getUserByDni_CachesNotFoundUntilCreated() {
+        when(userRepository.findByDni("12345678")).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.getUserByDni("12345678")).expectError(NotFoundException.class).verify();
+        StepVerifier.create(userService.getUserByDni("12345678")).expectError(NotFoundException.class).verify();
+        verify(userRepository, times(1)).findByDni("12345678");
+
+        when(userMapper.toEntity(userRequestDTO)).thenReturn(user);
+        when(userRepository.save(user)).thenReturn(Mono.just(user));
+        when(userMapper.toDto(user)).thenReturn(userResponseDTO);
+        StepVerifier.create(userService.createUser(userRequestDTO)).expectNextCount(1).verifyComplete();
+
+        StepVerifier.create(userService.getUserByDni("12345678")).expectNext(userResponseDTO).verifyComplete();
+    }
+
+    /**
+     * Tests that DNIs and phone numbers ruled out by the Bloom filter are reported as not found
+     * without querying the database, while possible keys and newly created users are still looked up.
+     */
+    @Test
+    void getUserByDni_BloomFilterRulesOutUnknownKeys() {
+        bloomFilterProperties.setEnabled(true);
+        bloomFilterProperties.setExpectedInsertions(1000);
+        userService = newUserService(new UserBatchProperties());
+        when(userRepository.streamKeys(eq(LookupType.DNI), anyInt())).thenReturn(Flux.just("12345678"));
+        when(userRepository.streamKeys(eq(LookupType.PHONE_NUMBER), anyInt())).thenReturn(Flux.empty());
+        bloomFilter.rebuild().block();
+
+        StepVerifier.create(userService.getUserByDni("99999999")).expectError(NotFoundException.class).verify();
+        StepVerifier.create(userService.getUserByPhoneNumber("+1234567890")).expectError(NotFoundException.class).verify();
+        verify(userRepository, never()).findByDni(anyString());
+        verify(userRepository, never()).findByPhoneNumber(anyString());
+
+        when(userRepository.findByDni("12345678")).thenReturn(Mono.just(user));
+        when(userMapper.toDto(user)).thenReturn(userResponseDTO);
+        StepVerifier.create(userService.getUserByDni("12345678")).expectNext(userResponseDTO).verifyComplete();
+
+        when(userMapper.toEntity(userRequestDTO)).thenReturn(user);
+        when(userRepository.save(user)).thenReturn(Mono.just(user));
+        StepVerifier.create(userService.createUser(userRequestDTO)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(userService.getUserByPhoneNumber("+1234567890")).expectNext(userResponseDTO).verifyComplete();
+    }
+
+    private UserServiceImpl newUserService(UserBatchProperties batchProperties) {
+        return newUserService(batchProperties, new UserCacheProperties(), new UserReadProperties());
+    }
+
+    private UserServiceImpl newUserService(UserBatchProperties batchProperties, UserCacheProperties cacheProperties,
+                                           UserReadProperties readProperties) {
+        userCache = new UserCache(cacheProperties);
+        bloomFilter = new UserBloomFilter(userRepository, bloomFilterProperties);
+        UserLookupProperties lookupProperties = new UserLookupProperties();
+        return new UserServiceImpl(userRepository, userMapper, userCache,
+                new UserLookupCoalescer(lookupProperties), new UserLookupBatcher(userRepository, lookupProperties),
+                new RecentWrites(readProperties), bloomFilter, batchProperties, new UserPaginationProperties(),
+                new UserExportProperties(), validator);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package io.banking.whatsapp.users.utils;
+
+import io.banking.whatsapp.users.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ETags.
+ * Contains unit tests for building user ETags and evaluating conditional request headers.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+class ETagsTest {
+
+    /**
+     * Tests that the ETag combines the ID and version, treating a missing version as 0.
+     */
+    @Test
+    void of_CombinesIdAndVersion() {
+        assertEquals("\"65f9c1a2b3c4d5e6f7a89b0c-3\"", ETags.of("65f9c1a2b3c4d5e6f7a89b0c", 3L));
+        assertEquals("\"1-0\"", ETags.of("1", null));
+        assertNull(ETags.of(null, 3L));
+    }
+
+    /**
+     * Tests that the full JSON body keeps the base ETag and every other representation gets its own,
+     * independent of the order the fields were requested in.
+     */
+    @Test
+    void of_TagsEachRepresentation() {
+        assertEquals("\"1-3\"", ETags.of("\"1-3\"", null, null));
+        assertEquals("\"1-3\"", ETags.of("\"1-3\"", null, MediaType.APPLICATION_JSON));
+        String projected = ETags.of("\"1-3\"", Set.of("id", "firstName"), null);
+        assertTrue(projected.matches("\"1-3-[0-9a-f]+\""));
+        assertEquals(projected, ETags.of("\"1-3\"", new LinkedHashSet<>(List.of("firstName", "id")), null));
+        assertNotEquals(projected, ETags.of("\"1-3\"", Set.of("id", "firstName"), MediaType.APPLICATION_CBOR));
+        assertNotEquals(ETags.of("\"1-3\"", null, MediaType.APPLICATION_CBOR),
+                ETags.of("\"1-3\"", null, MediaType.valueOf("application/x-jackson-smile")));
+        assertNull(ETags.of(null, Set.of("id"), null));
+    }
+
+    /**
+     * Tests If-None-Match evaluation, including lists, weak tags and the wildcard.
+     */
+    @Test
+    void matches_UsesWeakComparison() {
+        assertTrue(ETags.matches("\"1-3\"", "\"1-3\""));
+        assertTrue(ETags.matches("\"1-2\", W/\"1-3\"", "\"1-3\""));
+        assertTrue(ETags.matches("*", "\"1-3\""));
+        assertFalse(ETags.matches("\"1-2\"", "\"1-3\""));
+        assertFalse(ETags.matches(null, "\"1-3\""));
+    }
+
+    /**
+     * Tests If-Match parsing.
+     * Verifies that the version is read from a strong ETag of any representation of the user, that an absent header
+     * or the wildcard impose no version, and that any other tag fails the precondition.
+     */
+    @Test
+    void version_ParsesIfMatch() {
+        assertEquals(3L, ETags.version("\"1-3\"", "1"));
+        assertEquals(7L, ETags.version("\"2-5\", \"1-7\"", "1"));
+        assertEquals(3L, ETags.version(ETags.of("\"1-3\"", Set.of("id"), MediaType.APPLICATION_CBOR), "1"));
+        assertNull(ETags.version(null, "1"));
+        assertNull(ETags.version("*", "1"));
+        assertTrue(ETags.isWildcard(" * "));
+        assertFalse(ETags.isWildcard("\"1-3\""));
+        assertThrows(PreconditionFailedException.class, () -> ETags.version("W/\"1-3\"", "1"));
+        assertThrows(PreconditionFailedException.class, () -> ETags.version("\"2-3\"", "1"));
+        assertThrows(PreconditionFailedException.class, () -> ETags.version("\"1-x\"", "1"));
+    }
+}
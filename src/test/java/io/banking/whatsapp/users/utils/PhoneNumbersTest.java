@@ -0,0 +1,102 @@
+package io.banking.whatsapp.users.utils;
+
+import io.banking.whatsapp.users.exception.UserException;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PhoneNumbers.
+ * Contains unit tests for the E.164 normalization of phone numbers.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+class PhoneNumbersTest {
+
+    /**
+     * Tests that a number already in E.164 form is returned unchanged.
+     */
+    @Test
+    void normalize_KeepsCanonicalNumber() {
+        assertEquals("+5491122334455", PhoneNumbers.normalize("+5491122334455"));
+    }
+
+    /**
+     * Tests that formatting characters are stripped.
+     */
+    @Test
+    void normalize_StripsFormatting() {
+        assertEquals("+5491122334455", PhoneNumbers.normalize(" +54 9 (11) 2233-4455 "));
+        assertEquals("+12345678901", PhoneNumbers.normalize("+1.234.567/8901"));
+    }
+
+    /**
+     * Tests that the international 00 prefix is replaced by a plus sign.
+     */
+    @Test
+    void normalize_ReplacesInternationalPrefix() {
+        assertEquals("+5491122334455", PhoneNumbers.normalize("005491122334455"));
+    }
+
+    /**
+     * Tests that a number of digits only is read as starting with its country code,
+     * as WhatsApp sends phone numbers.
+     */
+    @Test
+    void normalize_DigitsOnlyIncludeCountryCode() {
+        assertEquals("+5491122334455", PhoneNumbers.normalize("5491122334455"));
+        assertEquals("+5491122334455", PhoneNumbers.normalize("54 9 11 2233-4455"));
+    }
+
+    /**
+     * Tests that a number starting with a national trunk prefix is rejected,
+     * since it carries no country code.
+     */
+    @Test
+    void normalize_RejectsTrunkPrefix() {
+        assertThrows(UserException.class, () -> PhoneNumbers.normalize("01122334455"));
+        assertThrows(UserException.class, () -> PhoneNumbers.normalize("0"));
+    }
+
+    /**
+     * Tests that invalid numbers are rejected with a UserException.
+     */
+    @Test
+    void normalize_RejectsInvalidNumbers() {
+        assertThrows(UserException.class, () -> PhoneNumbers.normalize("+0123456"));
+        assertThrows(UserException.class, () -> PhoneNumbers.normalize("+1234567890123456"));
+        assertThrows(UserException.class, () -> PhoneNumbers.normalize("call me"));
+        assertThrows(UserException.class, () -> PhoneNumbers.normalize(""));
+    }
+
+    /**
+     * Tests that the validation pattern accepts exactly the inputs normalize accepts.
+     */
+    @Test
+    void accepted_MatchesNormalize() {
+        for (String input : List.of("+5491122334455", " +54 9 (11) 2233-4455 ", "005491122334455", "0 0 54 11 2233 4455",
+                "5491122334455", "+1.234.567/8901", "01122334455", "+0123456", "+1234567890123456", "1",
+                "call me", "", "5+491122334455", "+00541122334455")) {
+            boolean normalizes;
+            try {
+                PhoneNumbers.normalize(input);
+                normalizes = true;
+            } catch (UserException ex) {
+                normalizes = false;
+            }
+            assertEquals(normalizes, input.matches(PhoneNumbers.ACCEPTED), input);
+        }
+    }
+
+    /**
+     * Tests that null is passed through.
+     */
+    @Test
+    void normalize_NullReturnsNull() {
+        assertNull(PhoneNumbers.normalize(null));
+    }
+}
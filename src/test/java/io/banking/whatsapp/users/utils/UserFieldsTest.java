@@ -0,0 +1,78 @@
+package io.banking.whatsapp.users.utils;
+
+import io.banking.whatsapp.users.domain.dto.ProjectedUserResponseDTO;
+import io.banking.whatsapp.users.domain.dto.UserResponseDTO;
+import io.banking.whatsapp.users.exception.UserException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for UserFields.
+ * Contains unit tests for parsing the fields parameter and trimming responses to it.
+ *
+ * @author Marcelo Alejandro Albarracín
+ * @email marceloalejandro.albarracin@gmail.com
+ * @version 1.0.0
+ * @since 2024-03-19
+ */
+class UserFieldsTest {
+
+    /**
+     * Tests that a comma-separated list is parsed in order, ignoring blanks and spaces.
+     */
+    @Test
+    void parse_SplitsAndTrims() {
+        assertEquals(List.of("id", "firstName", "status"),
+                List.copyOf(UserFields.parse(" id, firstName,,status ")));
+    }
+
+    /**
+     * Tests that a missing or blank parameter means every field.
+     */
+    @Test
+    void parse_BlankMeansEveryField() {
+        assertNull(UserFields.parse(null));
+        assertNull(UserFields.parse(" "));
+        assertNull(UserFields.parse(","));
+    }
+
+    /**
+     * Tests that unknown field names are rejected with a UserException.
+     */
+    @Test
+    void parse_RejectsUnknownField() {
+        assertThrows(UserException.class, () -> UserFields.parse("id,password"));
+    }
+
+    /**
+     * Tests that only the requested fields are kept, in a response that omits the others.
+     */
+    @Test
+    void project_ClearsUnrequestedFields() {
+        UserResponseDTO user = new UserResponseDTO();
+        user.setId("1");
+        user.setFirstName("John");
+        user.setDni("12345678");
+
+        UserResponseDTO projected = UserFields.project(user, Set.of("dni"));
+
+        assertInstanceOf(ProjectedUserResponseDTO.class, projected);
+        assertNull(projected.getId());
+        assertNull(projected.getFirstName());
+        assertEquals("12345678", projected.getDni());
+    }
+
+    /**
+     * Tests that a full response is returned unchanged when every field is requested.
+     */
+    @Test
+    void project_EveryFieldKeepsFullResponse() {
+        UserResponseDTO user = new UserResponseDTO();
+
+        assertSame(user, UserFields.project(user, null));
+    }
+}